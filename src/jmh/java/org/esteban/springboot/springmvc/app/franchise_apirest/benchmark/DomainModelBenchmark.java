@@ -0,0 +1,76 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.benchmark;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups on the aggregate. Ids are taken from the middle of each list, so a linear scan does half the work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainModelBenchmark {
+
+    @Param({"10", "100"})
+    private int branches;
+
+    @Param({"10", "100", "1000"})
+    private int products;
+
+    private Franchise franchise;
+    private Branch branch;
+    private String branchId;
+    private String productId;
+
+    @Setup
+    public void setUp() {
+        franchise = Fixtures.franchise(branches, products);
+        branch = Fixtures.middleBranch(franchise);
+        branchId = branch.getId();
+        productId = Fixtures.middleProduct(branch).getId();
+    }
+
+    @Benchmark
+    public Optional<Branch> findBranchById() {
+        return franchise.findBranchById(branchId);
+    }
+
+    @Benchmark
+    public Optional<Product> findProductById() {
+        return branch.findProductById(productId);
+    }
+
+    @Benchmark
+    public Optional<Product> getProductWithMaxStock() {
+        return branch.getProductWithMaxStock();
+    }
+
+    // removeProduct mutates the branch, so each call works on a fresh copy; compare against copyBranch
+    @Benchmark
+    public boolean removeProduct() {
+        return branch.copy().removeProduct(productId);
+    }
+
+    @Benchmark
+    public Branch copyBranch() {
+        return branch.copy();
+    }
+}
@@ -0,0 +1,38 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.benchmark;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    // Fixed seed: every fork and every run sees the same stock distribution
+    static Franchise franchise(int branches, int productsPerBranch) {
+        Random random = new Random(42);
+        List<Branch> branchList = new ArrayList<>(branches);
+        for (int b = 0; b < branches; b++) {
+            List<Product> products = new ArrayList<>(productsPerBranch);
+            for (int p = 0; p < productsPerBranch; p++) {
+                products.add(new Product(UUID.randomUUID().toString(), "Product " + p, random.nextInt(1_000)));
+            }
+            branchList.add(new Branch(UUID.randomUUID().toString(), "Branch " + b, products));
+        }
+        return new Franchise(UUID.randomUUID().toString(), "Benchmark " + branches + "x" + productsPerBranch, 0L, branchList);
+    }
+
+    static Branch middleBranch(Franchise franchise) {
+        return franchise.getBranches().get(franchise.getBranches().size() / 2);
+    }
+
+    static Product middleProduct(Branch branch) {
+        return branch.getProducts().get(branch.getProducts().size() / 2);
+    }
+}
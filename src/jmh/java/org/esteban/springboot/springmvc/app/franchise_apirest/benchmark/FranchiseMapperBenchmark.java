@@ -0,0 +1,53 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.benchmark;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.FranchiseEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.mapper.FranchiseMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FranchiseMapperBenchmark {
+
+    @Param({"10", "100"})
+    private int branches;
+
+    @Param({"10", "100"})
+    private int products;
+
+    private final FranchiseMapper mapper = new FranchiseMapper();
+    private Franchise franchise;
+    private FranchiseEntity entity;
+
+    @Setup
+    public void setUp() {
+        franchise = Fixtures.franchise(branches, products);
+        entity = mapper.toEntity(franchise);
+    }
+
+    @Benchmark
+    public FranchiseEntity toEntity() {
+        return mapper.toEntity(franchise);
+    }
+
+    @Benchmark
+    public Franchise toDomain() {
+        return mapper.toDomain(entity);
+    }
+}
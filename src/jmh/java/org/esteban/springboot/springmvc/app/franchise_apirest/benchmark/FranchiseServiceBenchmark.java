@@ -0,0 +1,92 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.bulk.BulkStockWriter;
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.metrics.UseCaseMetrics;
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.service.FranchiseService;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStreamEvent;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.memory.InMemoryFranchiseRepositoryAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service pipelines end to end against {@link InMemoryFranchiseRepositoryAdapter}. Every operation subscribes and blocks,
+ * so the figures include Reactor assembly and subscription, which is what a request pays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FranchiseServiceBenchmark {
+
+    private static final int TOP_LIMIT = 10;
+
+    @Param({"10", "100"})
+    private int branches;
+
+    @Param({"10", "100"})
+    private int products;
+
+    private FranchiseService service;
+    private String franchiseId;
+    private String branchId;
+    private String productId;
+    private int stock;
+
+    @Setup
+    public void setUp() {
+        InMemoryFranchiseRepositoryAdapter repository = new InMemoryFranchiseRepositoryAdapter();
+        service = new FranchiseService(repository,
+                new BulkStockWriter(repository, 500, 4), new UseCaseMetrics(new SimpleMeterRegistry()));
+
+        Franchise franchise = Fixtures.franchise(branches, products);
+        repository.restore(List.of(franchise));
+        Branch branch = Fixtures.middleBranch(franchise);
+        franchiseId = franchise.getId();
+        branchId = branch.getId();
+        productId = Fixtures.middleProduct(branch).getId();
+    }
+
+    @Benchmark
+    public Franchise getFranchiseById() {
+        return service.getFranchiseById(franchiseId).block();
+    }
+
+    @Benchmark
+    public List<TopProduct> getTopProductsByBranch() {
+        return service.getTopProductsByBranch(franchiseId, TOP_LIMIT).collectList().block();
+    }
+
+    @Benchmark
+    public List<TopProduct> getFranchiseTopProducts() {
+        return service.getFranchiseTopProducts(franchiseId, TOP_LIMIT).collectList().block();
+    }
+
+    @Benchmark
+    public Franchise updateProductStock() {
+        stock = (stock + 1) % 1_000;
+        return service.updateProductStock(franchiseId, branchId, productId, stock).block();
+    }
+
+    @Benchmark
+    public List<FranchiseStreamEvent> streamFranchise() {
+        return service.streamFranchise(franchiseId, true).collectList().block();
+    }
+}
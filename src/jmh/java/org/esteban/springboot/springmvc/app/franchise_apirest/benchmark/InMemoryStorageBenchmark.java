@@ -0,0 +1,112 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.bulk.BulkStockWriter;
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.metrics.UseCaseMetrics;
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.retry.ConflictRetryPolicy;
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.service.FranchiseService;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.memory.InMemoryFranchiseRepositoryAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the service flows on one shared in-memory store, for comparing thread counts:
+ * {@code -Djmh.args="InMemoryStorageBenchmark -t 1"} against {@code -t 2}, {@code -t 4}, ... Every thread picks a
+ * random franchise per call, so with enough franchises writes rarely meet on the same one.
+ * <p>
+ * {@code updateProductStockByLoadAndSave} is the stock update as it was before the in-place update: read the whole
+ * aggregate, change one product and save it back under the version check, retrying on conflicts. Compare it with
+ * {@code updateProductStock} at the same thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InMemoryStorageBenchmark {
+
+    @Param({"1000"})
+    private int franchises;
+
+    private InMemoryFranchiseRepositoryAdapter repository;
+    private ConflictRetryPolicy retryPolicy;
+    private FranchiseService service;
+    private final List<Target> targets = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryFranchiseRepositoryAdapter();
+        retryPolicy = new ConflictRetryPolicy(new SimpleMeterRegistry(), 100,
+                Duration.ofNanos(1), Duration.ofMillis(1), 0.5);
+        service = new FranchiseService(repository,
+                new BulkStockWriter(repository, 500, 4), new UseCaseMetrics(new SimpleMeterRegistry()));
+
+        List<Franchise> stored = new ArrayList<>(franchises);
+        for (int i = 0; i < franchises; i++) {
+            Franchise franchise = Fixtures.franchise(10, 20);
+            Branch branch = Fixtures.middleBranch(franchise);
+            Product product = Fixtures.middleProduct(branch);
+            stored.add(franchise);
+            targets.add(new Target(franchise.getId(), branch.getId(), product.getId()));
+        }
+        repository.restore(stored);
+    }
+
+    @Benchmark
+    public Franchise getFranchiseById() {
+        return service.getFranchiseById(pick().franchiseId()).block();
+    }
+
+    @Benchmark
+    public Franchise updateProductStock() {
+        Target target = pick();
+        return service.updateProductStock(target.franchiseId(), target.branchId(), target.productId(),
+                ThreadLocalRandom.current().nextInt(1_000)).block();
+    }
+
+    @Benchmark
+    public Franchise updateProductStockByLoadAndSave() {
+        Target target = pick();
+        int stock = ThreadLocalRandom.current().nextInt(1_000);
+        return retryPolicy.apply("updateProductStock", repository.findById(target.franchiseId())
+                .flatMap(franchise -> {
+                    franchise.findBranchById(target.branchId())
+                            .flatMap(branch -> branch.findProductById(target.productId()))
+                            .orElseThrow()
+                            .updateStock(stock);
+                    return repository.save(franchise);
+                })).block();
+    }
+
+    @Benchmark
+    public Franchise updateFranchiseName() {
+        return service.updateFranchiseName(pick().franchiseId(), "Renamed " + ThreadLocalRandom.current().nextInt(100))
+                .block();
+    }
+
+    private Target pick() {
+        return targets.get(ThreadLocalRandom.current().nextInt(targets.size()));
+    }
+
+    private record Target(String franchiseId, String branchId, String productId) {
+    }
+}
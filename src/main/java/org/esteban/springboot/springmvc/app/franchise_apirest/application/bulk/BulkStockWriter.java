@@ -0,0 +1,91 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.application.bulk;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Writes a stream of stock updates in batches of up to {@code batchSize}, each handed to storage as one bulk write,
+ * with at most {@code parallelism} batches in flight. Invalid updates are reported without reaching storage. Results
+ * come out in input order, one batch at a time, so the input is consumed as results go out and a large sync never has
+ * to be held in memory at once.
+ * <p>
+ * Within a batch a product listed twice takes its last stock; across batches written in parallel their order is not
+ * guaranteed, so a sync should list each product once.
+ */
+public class BulkStockWriter {
+
+    private final FranchiseRepositoryPort repository;
+    private final int batchSize;
+    private final int parallelism;
+
+    public BulkStockWriter(FranchiseRepositoryPort repository, int batchSize, int parallelism) {
+        if (batchSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Batch size and parallelism must be positive");
+        }
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    public Flux<StockUpdateResult> write(Flux<FranchiseStockUpdate> updates) {
+        return updates
+                .buffer(batchSize)
+                .flatMapSequential(this::writeBatch, parallelism);
+    }
+
+    // Rejected updates take their slot up front; storage reports the valid ones in the order given, filling the rest
+    private Flux<StockUpdateResult> writeBatch(List<FranchiseStockUpdate> batch) {
+        StockUpdateResult[] results = new StockUpdateResult[batch.size()];
+        List<FranchiseStockUpdate> valid = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            FranchiseStockUpdate update = batch.get(i);
+            String problem = validate(update);
+            if (problem == null) {
+                valid.add(update);
+            } else {
+                results[i] = StockUpdateResult.invalid(update, problem);
+            }
+        }
+        if (valid.isEmpty()) {
+            return Flux.fromArray(results);
+        }
+        return repository.bulkUpdateProductStocks(valid)
+                .collectList()
+                .flatMapIterable(written -> {
+                    Iterator<StockUpdateResult> next = written.iterator();
+                    for (int i = 0; i < results.length && next.hasNext(); i++) {
+                        if (results[i] == null) {
+                            results[i] = next.next();
+                        }
+                    }
+                    return Arrays.asList(results);
+                });
+    }
+
+    private static String validate(FranchiseStockUpdate update) {
+        if (isBlank(update.getFranchiseId()) || isBlank(update.getBranchId()) || isBlank(update.getProductId())) {
+            return "Franchise, branch and product ids are required";
+        }
+        if (update.getStock() == null) {
+            return "Stock is required";
+        }
+        try {
+            Product.validateStock(update.getStock());
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,62 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.application.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+
+/**
+ * Flight Recorder event for a use case that ran past its threshold, from subscription to terminal signal.
+ * Branch and product counts are summed over the franchises the use case emitted.
+ */
+@Name("franchise.UseCase")
+@Label("Franchise Use Case")
+@Category({"Franchise API", "Service"})
+@Description("Service use case slower than the threshold")
+@StackTrace(false)
+@Threshold("50 ms")
+public class UseCaseEvent extends Event {
+
+    @Label("Use Case")
+    String useCase;
+
+    @Label("Franchise Id")
+    String franchiseId;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Franchises")
+    int franchises;
+
+    @Label("Branches")
+    int branches;
+
+    @Label("Products")
+    int products;
+
+    UseCaseEvent(String useCase, String franchiseId) {
+        this.useCase = useCase;
+        this.franchiseId = franchiseId;
+    }
+
+    void emitted(Object value) {
+        if (value instanceof Franchise franchise) {
+            franchises++;
+            branches += franchise.getBranches().size();
+            products += franchise.countProducts();
+        }
+    }
+
+    void complete(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.application.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ConcurrentUpdateException;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.InsufficientStockException;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ResourceNotFoundException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times each use case from subscription to its terminal signal, tagged with how it ended, and reports the slow ones
+ * to Flight Recorder as {@link UseCaseEvent}s. The sample starts on subscribe, so assembly of an unsubscribed
+ * pipeline costs nothing, and no event is built while the recorder is off.
+ */
+@RequiredArgsConstructor
+public class UseCaseMetrics {
+
+    private static final String TIMER = "franchise.usecase";
+    private static final String USE_CASE_TAG = "use_case";
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> Mono<T> timed(String useCase, Mono<T> operation) {
+        return timed(useCase, null, operation);
+    }
+
+    public <T> Flux<T> timed(String useCase, Flux<T> operation) {
+        return timed(useCase, null, operation);
+    }
+
+    public <T> Mono<T> timed(String useCase, String franchiseId, Mono<T> operation) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            UseCaseEvent event = begin(useCase, franchiseId);
+            Mono<T> observed = event == null ? operation : operation.doOnNext(event::emitted);
+            return observed
+                    .doOnSuccess(value -> stop(sample, event, useCase, "success"))
+                    .doOnError(error -> stop(sample, event, useCase, outcome(error)))
+                    .doOnCancel(() -> stop(sample, event, useCase, "cancelled"));
+        });
+    }
+
+    public <T> Flux<T> timed(String useCase, String franchiseId, Flux<T> operation) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            UseCaseEvent event = begin(useCase, franchiseId);
+            Flux<T> observed = event == null ? operation : operation.doOnNext(event::emitted);
+            return observed
+                    .doOnComplete(() -> stop(sample, event, useCase, "success"))
+                    .doOnError(error -> stop(sample, event, useCase, outcome(error)))
+                    .doOnCancel(() -> stop(sample, event, useCase, "cancelled"));
+        });
+    }
+
+    private static UseCaseEvent begin(String useCase, String franchiseId) {
+        UseCaseEvent event = new UseCaseEvent(useCase, franchiseId);
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    private void stop(Timer.Sample sample, UseCaseEvent event, String useCase, String outcome) {
+        sample.stop(meterRegistry.timer(TIMER, USE_CASE_TAG, useCase, OUTCOME_TAG, outcome));
+        if (event != null) {
+            event.complete(outcome);
+        }
+    }
+
+    private static String outcome(Throwable error) {
+        if (error instanceof ResourceNotFoundException) {
+            return "not_found";
+        }
+        if (error instanceof IllegalArgumentException) {
+            return "invalid";
+        }
+        if (error instanceof ConcurrentUpdateException) {
+            return "conflict";
+        }
+        if (error instanceof InsufficientStockException) {
+            return "insufficient_stock";
+        }
+        return "error";
+    }
+}
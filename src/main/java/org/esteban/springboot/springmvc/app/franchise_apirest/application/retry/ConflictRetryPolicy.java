@@ -0,0 +1,42 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.application.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ConcurrentUpdateException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Resubscribes to a load-mutate-save attempt when its save loses the optimistic version check, so the aggregate is
+ * read again and the change re-applied on top of the concurrent write. Conflicts, retries and exhausted retries are
+ * counted per use case; once retries run out the conflict is surfaced as is.
+ */
+@RequiredArgsConstructor
+public class ConflictRetryPolicy {
+
+    private static final String USE_CASE_TAG = "use_case";
+
+    private final MeterRegistry meterRegistry;
+    private final long maxRetries;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final double jitter;
+
+    public <T> Mono<T> apply(String useCase, Mono<T> attempt) {
+        return attempt
+                .doOnError(ConcurrentUpdateException.class,
+                        e -> meterRegistry.counter("franchise.mutation.conflicts", USE_CASE_TAG, useCase).increment())
+                .retryWhen(Retry.backoff(maxRetries, minBackoff)
+                        .maxBackoff(maxBackoff)
+                        .jitter(jitter)
+                        .filter(ConcurrentUpdateException.class::isInstance)
+                        .doBeforeRetry(signal ->
+                                meterRegistry.counter("franchise.mutation.retries", USE_CASE_TAG, useCase).increment())
+                        .onRetryExhaustedThrow((spec, signal) -> {
+                            meterRegistry.counter("franchise.mutation.retries.exhausted", USE_CASE_TAG, useCase).increment();
+                            return signal.failure();
+                        }));
+    }
+}
@@ -1,18 +1,31 @@
 package org.esteban.springboot.springmvc.app.franchise_apirest.application.service;
 
 import lombok.RequiredArgsConstructor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.bulk.BulkStockWriter;
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.metrics.UseCaseMetrics;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.InsufficientStockException;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ResourceNotFoundException;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseView;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseLookup;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePage;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePageCursor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStreamEvent;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.in.*;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.AbstractMap;
-import java.util.Map;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -29,142 +42,256 @@ public class FranchiseService implements
         UpdateBranchNameUseCase,
         UpdateProductNameUseCase {
 
+    private static final int MAX_TOP_PRODUCTS = 100;
+    private static final int MAX_BATCH_IDS = 200;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Comparator<TopProduct> BY_STOCK_DESCENDING =
+            Comparator.comparing(TopProduct::getStock, Comparator.reverseOrder());
+
     private final FranchiseRepositoryPort franchiseRepositoryPort;
+    private final BulkStockWriter bulkStockWriter;
+    private final UseCaseMetrics useCaseMetrics;
 
     @Override
     public Mono<Franchise> createFranchise(String name) {
         Franchise franchise = Franchise.builder()
                 .name(name)
                 .build();
-        return franchiseRepositoryPort.save(franchise);
+        return useCaseMetrics.timed("createFranchise", franchiseRepositoryPort.save(franchise));
     }
 
     @Override
     public Mono<Franchise> addBranch(String franchiseId, String branchName) {
-        return franchiseRepositoryPort.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId)))
-                .flatMap(franchise -> {
-                    Branch branch = Branch.builder()
-                            .id(UUID.randomUUID().toString())
-                            .name(branchName)
-                            .build();
-                    franchise.addBranch(branch);
-                    return franchiseRepositoryPort.save(franchise);
-                });
+        Branch branch = Branch.builder()
+                .id(UUID.randomUUID().toString())
+                .name(branchName)
+                .build();
+
+        return useCaseMetrics.timed("addBranch", franchiseId, franchiseRepositoryPort.addBranch(franchiseId, branch)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId))));
     }
 
     @Override
     public Mono<Franchise> addProduct(String franchiseId, String branchId, String productName, Integer stock) {
-        return franchiseRepositoryPort.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId)))
-                .flatMap(franchise -> {
-                    Branch branch = franchise.findBranchById(branchId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Branch not found with id: " + branchId));
-
-                    Product product = Product.builder()
-                            .id(UUID.randomUUID().toString())
-                            .name(productName)
-                            .stock(stock)
-                            .build();
+        Product product = Product.builder()
+                .id(UUID.randomUUID().toString())
+                .name(productName)
+                .stock(stock)
+                .build();
 
-                    branch.addProduct(product);
-                    return franchiseRepositoryPort.save(franchise);
-                });
+        return useCaseMetrics.timed("addProduct", franchiseId,
+                franchiseRepositoryPort.addProduct(franchiseId, branchId, product)
+                        .switchIfEmpty(Mono.defer(() -> notFound(franchiseId, branchId, null))));
     }
 
     @Override
     public Mono<Franchise> deleteProduct(String franchiseId, String branchId, String productId) {
-        return franchiseRepositoryPort.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId)))
-                .flatMap(franchise -> {
-                    Branch branch = franchise.findBranchById(branchId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Branch not found with id: " + branchId));
-
-                    boolean removed = branch.removeProduct(productId);
-                    if (!removed) {
-                        return Mono.error(new ResourceNotFoundException("Product not found with id: " + productId));
-                    }
-
-                    return franchiseRepositoryPort.save(franchise);
-                });
+        return useCaseMetrics.timed("deleteProduct", franchiseId,
+                franchiseRepositoryPort.removeProduct(franchiseId, branchId, productId)
+                        .switchIfEmpty(Mono.defer(() -> notFound(franchiseId, branchId, productId))));
     }
 
     @Override
     public Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId, Integer newStock) {
-        return franchiseRepositoryPort.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId)))
-                .flatMap(franchise -> {
-                    Branch branch = franchise.findBranchById(branchId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Branch not found with id: " + branchId));
+        return useCaseMetrics.timed("updateProductStock", franchiseId, Mono.defer(() -> {
+                    Product.validateStock(newStock);
+                    return franchiseRepositoryPort.updateProductStock(franchiseId, branchId, productId, newStock);
+                })
+                .switchIfEmpty(Mono.defer(() -> notFound(franchiseId, branchId, productId))));
+    }
 
-                    Product product = branch.findProductById(productId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+    @Override
+    public Mono<Product> adjustProductStock(String franchiseId, String branchId, String productId, Integer delta) {
+        return useCaseMetrics.timed("adjustProductStock", franchiseId, Mono.defer(() -> {
+                    if (delta == null) {
+                        throw new IllegalArgumentException("Stock delta is required");
+                    }
+                    return franchiseRepositoryPort.adjustProductStock(franchiseId, branchId, productId, delta);
+                })
+                .mapNotNull(franchise -> franchise.findBranchById(branchId)
+                        .flatMap(branch -> branch.findProductById(productId))
+                        .orElse(null))
+                .switchIfEmpty(Mono.defer(() -> adjustmentRefused(franchiseId, branchId, productId, delta))));
+    }
 
-                    product.updateStock(newStock);
-                    return franchiseRepositoryPort.save(franchise);
-                });
+    @Override
+    public Flux<StockUpdateResult> bulkUpdateProductStock(Flux<FranchiseStockUpdate> updates) {
+        return useCaseMetrics.timed("bulkUpdateProductStock", bulkStockWriter.write(updates));
     }
 
     @Override
-    public Flux<Map.Entry<Branch, Product>> getTopProductsByBranch(String franchiseId) {
-        return franchiseRepositoryPort.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId)))
-                .flatMapMany(franchise -> Flux.fromIterable(franchise.getBranches())
-                        .flatMap(branch -> branch.getProductWithMaxStock()
-                                .map(product -> new AbstractMap.SimpleEntry<>(branch, product))
-                                .map(Mono::just)
-                                .orElse(Mono.empty())
-                        )
-                );
+    public Flux<TopProduct> getTopProductsByBranch(String franchiseId, int limit) {
+        return useCaseMetrics.timed("getTopProductsByBranch", franchiseId, topProductsByBranch(franchiseId, limit));
+    }
+
+    // Storage streams the rankings branch after branch, and the overall leader can sit in the last branch, so the
+    // per-branch rankings (at most limit products each) are collected before they are merged
+    @Override
+    public Flux<TopProduct> getFranchiseTopProducts(String franchiseId, int limit) {
+        return useCaseMetrics.timed("getFranchiseTopProducts", franchiseId, topProductsByBranch(franchiseId, limit)
+                .bufferUntilChanged(TopProduct::getBranchId)
+                .collectList()
+                .flatMapMany(perBranch -> mergeByStock(perBranch).take(limit)));
+    }
+
+    private Flux<TopProduct> topProductsByBranch(String franchiseId, int limit) {
+        return Flux.defer(() -> {
+            validateTopProductsLimit(limit);
+            return franchiseRepositoryPort.findTopProductsByBranch(franchiseId, limit);
+        }).switchIfEmpty(Flux.defer(() -> franchiseRepositoryPort.existsById(franchiseId)
+                .flatMapMany(exists -> exists
+                        ? Flux.<TopProduct>empty()
+                        : Flux.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId)))));
     }
 
     @Override
     public Mono<Franchise> getFranchiseById(String franchiseId) {
-        return franchiseRepositoryPort.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId)));
+        return useCaseMetrics.timed("getFranchiseById", franchiseId, franchiseRepositoryPort.findById(franchiseId)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId))));
     }
 
     @Override
     public Flux<Franchise> getAllFranchises() {
-        return franchiseRepositoryPort.findAll();
+        return useCaseMetrics.timed("getAllFranchises", franchiseRepositoryPort.findAll());
+    }
+
+    @Override
+    public Mono<FranchiseSummary> getFranchiseSummary(String franchiseId, FranchiseView view) {
+        return useCaseMetrics.timed("getFranchiseSummary", franchiseId,
+                franchiseRepositoryPort.findSummaryById(franchiseId, view.includesBranches())
+                        .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId))));
+    }
+
+    @Override
+    public Flux<FranchiseSummary> getFranchiseSummaries(FranchiseView view) {
+        return useCaseMetrics.timed("getFranchiseSummaries",
+                franchiseRepositoryPort.findAllSummaries(view.includesBranches()));
+    }
+
+    // One $in query for the whole batch; results come back in request order with a marker for unknown ids
+    @Override
+    public Flux<FranchiseLookup> getFranchisesByIds(List<String> franchiseIds) {
+        return useCaseMetrics.timed("getFranchisesByIds", Flux.defer(() -> {
+            validateBatchSize(franchiseIds);
+            return franchiseRepositoryPort.findAllById(new LinkedHashSet<>(franchiseIds))
+                    .collectMap(Franchise::getId)
+                    .flatMapIterable(found -> franchiseIds.stream()
+                            .map(id -> found.containsKey(id)
+                                    ? FranchiseLookup.of(found.get(id))
+                                    : FranchiseLookup.missing(id))
+                            .toList());
+        }));
     }
 
     @Override
     public Mono<Franchise> updateFranchiseName(String franchiseId, String newName) {
-        return franchiseRepositoryPort.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId)))
-                .flatMap(franchise -> {
-                    franchise.setName(newName);
-                    return franchiseRepositoryPort.save(franchise);
-                });
+        return useCaseMetrics.timed("updateFranchiseName", franchiseId,
+                franchiseRepositoryPort.updateFranchiseName(franchiseId, newName)
+                        .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId))));
     }
 
     @Override
     public Mono<Franchise> updateBranchName(String franchiseId, String branchId, String newName) {
+        return useCaseMetrics.timed("updateBranchName", franchiseId,
+                franchiseRepositoryPort.updateBranchName(franchiseId, branchId, newName)
+                        .switchIfEmpty(Mono.defer(() -> notFound(franchiseId, branchId, null))));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId, String newName) {
+        return useCaseMetrics.timed("updateProductName", franchiseId,
+                franchiseRepositoryPort.updateProductName(franchiseId, branchId, productId, newName)
+                        .switchIfEmpty(Mono.defer(() -> notFound(franchiseId, branchId, productId))));
+    }
+
+    private Mono<Franchise> notFound(String franchiseId, String branchId, String productId) {
         return franchiseRepositoryPort.findById(franchiseId)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId)))
                 .flatMap(franchise -> {
-                    Branch branch = franchise.findBranchById(branchId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Branch not found with id: " + branchId));
-
-                    branch.setName(newName);
-                    return franchiseRepositoryPort.save(franchise);
+                    if (productId == null || franchise.findBranchById(branchId).isEmpty()) {
+                        return Mono.error(new ResourceNotFoundException("Branch not found with id: " + branchId));
+                    }
+                    return Mono.error(new ResourceNotFoundException("Product not found with id: " + productId));
                 });
     }
 
-    @Override
-    public Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId, String newName) {
+    // The conditional write does not say why it matched nothing, so the franchise is read back to tell missing from short
+    private Mono<Product> adjustmentRefused(String franchiseId, String branchId, String productId, int delta) {
         return franchiseRepositoryPort.findById(franchiseId)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId)))
                 .flatMap(franchise -> {
-                    Branch branch = franchise.findBranchById(branchId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Branch not found with id: " + branchId));
+                    Branch branch = franchise.findBranchById(branchId).orElse(null);
+                    if (branch == null) {
+                        return Mono.error(new ResourceNotFoundException("Branch not found with id: " + branchId));
+                    }
+                    Product product = branch.findProductById(productId).orElse(null);
+                    if (product == null) {
+                        return Mono.error(new ResourceNotFoundException("Product not found with id: " + productId));
+                    }
+                    if (delta > 0) {
+                        return Mono.error(new IllegalArgumentException("Stock cannot exceed " + Integer.MAX_VALUE));
+                    }
+                    return Mono.error(new InsufficientStockException("Insufficient stock for product " + productId
+                            + ": available " + product.getStock() + ", requested " + (-delta)));
+                });
+    }
 
-                    Product product = branch.findProductById(productId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+    private void validateTopProductsLimit(int limit) {
+        if (limit < 1 || limit > MAX_TOP_PRODUCTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_TOP_PRODUCTS);
+        }
+    }
 
-                    product.setName(newName);
-                    return franchiseRepositoryPort.save(franchise);
-                });
+    @Override
+    public Flux<FranchiseStreamEvent> streamFranchise(String franchiseId, boolean withProducts) {
+        return useCaseMetrics.timed("streamFranchise", franchiseId,
+                franchiseRepositoryPort.findSummaryById(franchiseId, false)
+                        .switchIfEmpty(Mono.error(new ResourceNotFoundException("Franchise not found with id: " + franchiseId)))
+                        .flatMapMany(franchise -> Flux.just(FranchiseStreamEvent.header(franchise))
+                                .concatWith(franchiseRepositoryPort.streamBranches(franchiseId, withProducts)
+                                        .map(branch -> FranchiseStreamEvent.branch(franchiseId, branch)))));
+    }
+
+    // Reads one extra document to learn whether another page exists without a separate count query
+    @Override
+    public Mono<FranchisePage> getFranchisesPage(String namePrefix, String cursor, int size) {
+        return useCaseMetrics.timed("getFranchisesPage", Mono.defer(() -> {
+            validatePageSize(size);
+            FranchisePageCursor after = cursor == null || cursor.isBlank() ? null : FranchisePageCursor.decode(cursor);
+            return franchiseRepositoryPort.findPage(namePrefix, after, size + 1)
+                    .collectList()
+                    .map(franchises -> {
+                        if (franchises.size() <= size) {
+                            return FranchisePage.builder().items(franchises).build();
+                        }
+                        List<Franchise> items = franchises.subList(0, size);
+                        return FranchisePage.builder()
+                                .items(items)
+                                .nextCursor(FranchisePageCursor.after(items.get(size - 1)).encode())
+                                .build();
+                    });
+        }));
+    }
+
+    private void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private void validateBatchSize(List<String> franchiseIds) {
+        if (franchiseIds == null || franchiseIds.isEmpty() || franchiseIds.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BATCH_IDS + " franchise ids are required");
+        }
+    }
+
+    // k-way merge of the buffered per-branch rankings, each already sorted by stock descending, so only the first
+    // products of every branch are compared. On equal stock the earlier branch wins, keeping the result deterministic.
+    @SuppressWarnings("unchecked")
+    private Flux<TopProduct> mergeByStock(List<List<TopProduct>> perBranch) {
+        Flux<TopProduct>[] sources = perBranch.stream()
+                .map(Flux::fromIterable)
+                .toArray(Flux[]::new);
+        return Flux.mergeComparing(BY_STOCK_DESCENDING, sources);
     }
 }
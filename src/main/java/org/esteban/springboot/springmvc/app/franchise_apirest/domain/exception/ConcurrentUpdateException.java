@@ -0,0 +1,11 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception;
+
+public class ConcurrentUpdateException extends RuntimeException {
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+
+    public ConcurrentUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
@@ -6,8 +6,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.PriorityQueue;
 
 @Data
 @Builder
@@ -38,4 +41,39 @@ public class Branch {
         return this.products.stream()
                 .max((p1, p2) -> Integer.compare(p1.getStock(), p2.getStock()));
     }
+
+    public List<Product> getTopProductsByStock(int limit) {
+        if (limit <= 0 || this.products.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Min-heap of positions: the head is the weakest candidate (lowest stock, latest position on ties)
+        Comparator<Integer> weakestFirst = Comparator.<Integer>comparingInt(i -> this.products.get(i).getStock())
+                .thenComparing(Comparator.reverseOrder());
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(limit, this.products.size()), weakestFirst);
+
+        for (int i = 0; i < this.products.size(); i++) {
+            if (heap.size() < limit) {
+                heap.offer(i);
+            } else if (weakestFirst.compare(i, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(i);
+            }
+        }
+
+        List<Product> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            top.add(this.products.get(heap.poll()));
+        }
+        Collections.reverse(top);
+        return top;
+    }
+
+    public Branch copy() {
+        List<Product> productCopies = new ArrayList<>(this.products.size());
+        for (Product product : this.products) {
+            productCopies.add(product.copy());
+        }
+        return new Branch(this.id, this.name, productCopies);
+    }
 }
\ No newline at end of file
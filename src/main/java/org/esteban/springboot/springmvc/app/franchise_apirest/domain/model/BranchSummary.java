@@ -0,0 +1,15 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BranchSummary {
+    private String id;
+    private String name;
+}
@@ -16,6 +16,7 @@ import java.util.Optional;
 public class Franchise {
     private String id;
     private String name;
+    private Long version;
 
     @Builder.Default
     private List<Branch> branches = new ArrayList<>();
@@ -29,4 +30,20 @@ public class Franchise {
                 .filter(b -> b.getId().equals(branchId))
                 .findFirst();
     }
+
+    public int countProducts() {
+        int products = 0;
+        for (Branch branch : this.branches) {
+            products += branch.getProducts().size();
+        }
+        return products;
+    }
+
+    public Franchise copy() {
+        List<Branch> branchCopies = new ArrayList<>(this.branches.size());
+        for (Branch branch : this.branches) {
+            branchCopies.add(branch.copy());
+        }
+        return new Franchise(this.id, this.name, this.version, branchCopies);
+    }
 }
\ No newline at end of file
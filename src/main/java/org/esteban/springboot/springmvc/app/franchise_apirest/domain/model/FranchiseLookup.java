@@ -0,0 +1,24 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FranchiseLookup {
+    private String id;
+    private boolean found;
+    private Franchise franchise;
+
+    public static FranchiseLookup of(Franchise franchise) {
+        return new FranchiseLookup(franchise.getId(), true, franchise);
+    }
+
+    public static FranchiseLookup missing(String id) {
+        return new FranchiseLookup(id, false, null);
+    }
+}
@@ -0,0 +1,19 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FranchisePage {
+    @Builder.Default
+    private List<Franchise> items = new ArrayList<>();
+    private String nextCursor;
+}
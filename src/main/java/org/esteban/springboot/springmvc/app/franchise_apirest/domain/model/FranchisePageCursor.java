@@ -0,0 +1,43 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (name, id) listing order. Clients only ever see the encoded form.
+ */
+@Data
+@AllArgsConstructor
+public class FranchisePageCursor {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private String name;
+    private String id;
+
+    public static FranchisePageCursor after(Franchise franchise) {
+        return new FranchisePageCursor(franchise.getName(), franchise.getId());
+    }
+
+    public String encode() {
+        byte[] raw = (name + SEPARATOR + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static FranchisePageCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        int separator = raw.lastIndexOf(SEPARATOR);
+        if (separator < 0 || separator == raw.length() - 1) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        return new FranchisePageCursor(raw.substring(0, separator), raw.substring(separator + 1));
+    }
+}
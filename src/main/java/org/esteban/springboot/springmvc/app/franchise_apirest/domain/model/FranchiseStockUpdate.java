@@ -0,0 +1,38 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A stock update that names its franchise, as sent by bulk inventory syncs.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FranchiseStockUpdate {
+    private String franchiseId;
+    private String branchId;
+    private String productId;
+    private Integer stock;
+
+    public StockUpdate toStockUpdate() {
+        return new StockUpdate(branchId, productId, stock);
+    }
+
+    // Franchises keep the order of their first appearance, updates keep their order within a franchise
+    public static Map<String, List<StockUpdate>> byFranchise(List<FranchiseStockUpdate> updates) {
+        Map<String, List<StockUpdate>> grouped = new LinkedHashMap<>();
+        for (FranchiseStockUpdate update : updates) {
+            grouped.computeIfAbsent(update.getFranchiseId(), id -> new ArrayList<>()).add(update.toStockUpdate());
+        }
+        return grouped;
+    }
+}
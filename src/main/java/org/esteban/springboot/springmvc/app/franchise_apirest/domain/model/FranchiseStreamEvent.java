@@ -0,0 +1,39 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One element of a streamed franchise: a single header followed by one event per branch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FranchiseStreamEvent {
+
+    public enum Type { FRANCHISE, BRANCH }
+
+    private Type type;
+    private String franchiseId;
+    private String franchiseName;
+    private Branch branch;
+
+    public static FranchiseStreamEvent header(FranchiseSummary franchise) {
+        return FranchiseStreamEvent.builder()
+                .type(Type.FRANCHISE)
+                .franchiseId(franchise.getId())
+                .franchiseName(franchise.getName())
+                .build();
+    }
+
+    public static FranchiseStreamEvent branch(String franchiseId, Branch branch) {
+        return FranchiseStreamEvent.builder()
+                .type(Type.BRANCH)
+                .franchiseId(franchiseId)
+                .branch(branch)
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Product-free read model of a franchise. {@code branches} is only populated for the branches view.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FranchiseSummary {
+    private String id;
+    private String name;
+    private List<BranchSummary> branches;
+
+    public static FranchiseSummary from(Franchise franchise, boolean withBranches) {
+        return FranchiseSummary.builder()
+                .id(franchise.getId())
+                .name(franchise.getName())
+                .branches(withBranches
+                        ? franchise.getBranches().stream()
+                                .map(branch -> new BranchSummary(branch.getId(), branch.getName()))
+                                .toList()
+                        : null)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.model;
+
+import java.util.Locale;
+
+public enum FranchiseView {
+    SUMMARY,
+    BRANCHES,
+    FULL;
+
+    public static FranchiseView from(String value) {
+        try {
+            return FranchiseView.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("View must be one of summary, branches, full");
+        }
+    }
+
+    public boolean includesBranches() {
+        return this != SUMMARY;
+    }
+}
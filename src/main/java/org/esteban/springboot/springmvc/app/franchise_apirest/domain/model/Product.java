@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.InsufficientStockException;
 
 @Data
 @Builder
@@ -15,9 +16,30 @@ public class Product {
     private Integer stock;
 
     public void updateStock(Integer newStock) {
-        if (newStock < 0) {
+        validateStock(newStock);
+        this.stock = newStock;
+    }
+
+    // Checked before the stock changes, so a refused decrement leaves the product as it was
+    public void adjustStock(int delta) {
+        long adjusted = (long) stock + delta;
+        if (adjusted < 0) {
+            throw new InsufficientStockException("Insufficient stock for product " + id + ": available " + stock
+                    + ", requested " + (-delta));
+        }
+        if (adjusted > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Stock cannot exceed " + Integer.MAX_VALUE);
+        }
+        this.stock = (int) adjusted;
+    }
+
+    public Product copy() {
+        return new Product(this.id, this.name, this.stock);
+    }
+
+    public static void validateStock(Integer stock) {
+        if (stock < 0) {
             throw new IllegalArgumentException("Stock cannot be negative");
         }
-        this.stock = newStock;
     }
 }
\ No newline at end of file
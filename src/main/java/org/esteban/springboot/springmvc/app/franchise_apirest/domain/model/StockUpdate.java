@@ -0,0 +1,30 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockUpdate {
+    private String branchId;
+    private String productId;
+    private Integer stock;
+
+    // Last write wins for a product listed more than once; products keep the order of their first appearance
+    public static List<StockUpdate> lastPerProduct(List<StockUpdate> updates) {
+        Map<String, StockUpdate> latest = new LinkedHashMap<>();
+        for (StockUpdate update : updates) {
+            latest.put(update.getBranchId() + '/' + update.getProductId(), update);
+        }
+        return latest.size() == updates.size() ? updates : new ArrayList<>(latest.values());
+    }
+}
@@ -0,0 +1,58 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of one entry of a bulk stock update.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockUpdateResult {
+
+    public enum Status { OK, NOT_FOUND, INVALID }
+
+    private String franchiseId;
+    private String branchId;
+    private String productId;
+    private Integer stock;
+    private Status status;
+    private String message;
+
+    public static StockUpdateResult ok(FranchiseStockUpdate update) {
+        return of(update, Status.OK, null);
+    }
+
+    public static StockUpdateResult notFound(FranchiseStockUpdate update) {
+        return of(update, Status.NOT_FOUND, "Franchise, branch or product not found");
+    }
+
+    public static StockUpdateResult invalid(FranchiseStockUpdate update, String message) {
+        return of(update, Status.INVALID, message);
+    }
+
+    // An update is OK when its product is present in the franchise as written; a missing franchise means NOT_FOUND
+    public static List<StockUpdateResult> against(List<FranchiseStockUpdate> updates, Map<String, Franchise> written) {
+        return updates.stream()
+                .map(update -> {
+                    Franchise franchise = written.get(update.getFranchiseId());
+                    boolean found = franchise != null && franchise.findBranchById(update.getBranchId())
+                            .flatMap(branch -> branch.findProductById(update.getProductId()))
+                            .isPresent();
+                    return found ? ok(update) : notFound(update);
+                })
+                .toList();
+    }
+
+    private static StockUpdateResult of(FranchiseStockUpdate update, Status status, String message) {
+        return new StockUpdateResult(update.getFranchiseId(), update.getBranchId(), update.getProductId(),
+                update.getStock(), status, message);
+    }
+}
@@ -0,0 +1,18 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopProduct {
+    private String branchId;
+    private String branchName;
+    private String productId;
+    private String productName;
+    private Integer stock;
+}
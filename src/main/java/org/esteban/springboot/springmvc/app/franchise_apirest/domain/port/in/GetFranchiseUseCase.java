@@ -1,10 +1,22 @@
 package org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.in;
 
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseView;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePage;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStreamEvent;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseLookup;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface GetFranchiseUseCase {
     Mono<Franchise> getFranchiseById(String franchiseId);
     Flux<Franchise> getAllFranchises();
+    Mono<FranchiseSummary> getFranchiseSummary(String franchiseId, FranchiseView view);
+    Flux<FranchiseSummary> getFranchiseSummaries(FranchiseView view);
+    Flux<FranchiseLookup> getFranchisesByIds(List<String> franchiseIds);
+    Mono<FranchisePage> getFranchisesPage(String namePrefix, String cursor, int size);
+    Flux<FranchiseStreamEvent> streamFranchise(String franchiseId, boolean withProducts);
 }
@@ -1,11 +1,9 @@
 package org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.in;
 
-import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
-import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
 import reactor.core.publisher.Flux;
 
-import java.util.Map;
-
 public interface GetTopProductsByBranchUseCase {
-    Flux<Map.Entry<Branch, Product>> getTopProductsByBranch(String franchiseId);
+    Flux<TopProduct> getTopProductsByBranch(String franchiseId, int limit);
+    Flux<TopProduct> getFranchiseTopProducts(String franchiseId, int limit);
 }
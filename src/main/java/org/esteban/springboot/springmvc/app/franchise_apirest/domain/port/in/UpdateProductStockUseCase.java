@@ -1,8 +1,16 @@
 package org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.in;
 
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface UpdateProductStockUseCase {
     Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId, Integer newStock);
+
+    Mono<Product> adjustProductStock(String franchiseId, String branchId, String productId, Integer delta);
+
+    Flux<StockUpdateResult> bulkUpdateProductStock(Flux<FranchiseStockUpdate> updates);
 }
@@ -1,12 +1,56 @@
 package org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out;
 
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePageCursor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface FranchiseRepositoryPort {
     Mono<Franchise> save(Franchise franchise);
     Mono<Franchise> findById(String id);
     Flux<Franchise> findAll();
+    Mono<FranchiseSummary> findSummaryById(String id, boolean withBranches);
+    Flux<FranchiseSummary> findAllSummaries(boolean withBranches);
+    Flux<Branch> streamBranches(String franchiseId, boolean withProducts);
+    Flux<Franchise> findAllById(Collection<String> ids);
+    Flux<Franchise> findPage(String namePrefix, FranchisePageCursor after, int limit);
     Mono<Void> deleteById(String id);
+    Mono<Boolean> existsById(String id);
+    Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId, Integer stock);
+
+    /**
+     * Sets the stock of several products of one franchise in a single write; a product listed twice takes its last
+     * stock. Updates whose branch or product does not exist are skipped, callers find out by looking for the product
+     * in the returned franchise. Empty when the franchise does not exist.
+     */
+    Mono<Franchise> updateProductStocks(String franchiseId, List<StockUpdate> updates);
+    /**
+     * Sets the stock of products across several franchises in one batch of writes, without atomicity across
+     * franchises, and reports every update as {@code OK} or {@code NOT_FOUND} in the order given. Updates must
+     * already be valid; a product listed twice takes its last stock.
+     */
+    Flux<StockUpdateResult> bulkUpdateProductStocks(List<FranchiseStockUpdate> updates);
+    /**
+     * Adds {@code delta} to a product's stock in one atomic write, refusing any change that would leave it below
+     * zero. Empty when the product does not exist or does not have enough stock.
+     */
+    Mono<Franchise> adjustProductStock(String franchiseId, String branchId, String productId, int delta);
+
+    Mono<Franchise> addBranch(String franchiseId, Branch branch);
+    Mono<Franchise> addProduct(String franchiseId, String branchId, Product product);
+    Mono<Franchise> removeProduct(String franchiseId, String branchId, String productId);
+    Mono<Franchise> updateFranchiseName(String franchiseId, String name);
+    Mono<Franchise> updateBranchName(String franchiseId, String branchId, String name);
+    Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId, String name);
+    Flux<TopProduct> findTopProductsByBranch(String franchiseId, int limit);
 }
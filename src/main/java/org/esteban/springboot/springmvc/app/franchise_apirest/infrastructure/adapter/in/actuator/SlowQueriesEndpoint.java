@@ -0,0 +1,31 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.in.actuator;
+
+import lombok.RequiredArgsConstructor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.profiling.SlowQuery;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.profiling.SlowQueryBuffer;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/slowqueries} lists the recent slow Mongo commands, slowest first;
+ * {@code DELETE} empties the buffer.
+ */
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueriesEndpoint {
+
+    private final SlowQueryBuffer slowQueries;
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries() {
+        return slowQueries.slowest();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueries.clear();
+    }
+}
@@ -4,10 +4,18 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseView;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseLookup;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePage;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStreamEvent;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.in.*;
 import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.in.web.dto.*;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -71,26 +79,80 @@ public class FranchiseController {
         return updateProductStockUseCase.updateProductStock(franchiseId, branchId, productId, request.getStock());
     }
 
-    @GetMapping("/{franchiseId}/top-products")
-    public Flux<TopProductResponse> getTopProductsByBranch(@PathVariable String franchiseId) {
-        return getTopProductsByBranchUseCase.getTopProductsByBranch(franchiseId)
-                .map(entry -> TopProductResponse.builder()
-                        .branchId(entry.getKey().getId())
-                        .branchName(entry.getKey().getName())
-                        .productId(entry.getValue().getId())
-                        .productName(entry.getValue().getName())
-                        .stock(entry.getValue().getStock())
-                        .build());
+    @PatchMapping("/{franchiseId}/branches/{branchId}/products/{productId}/stock")
+    public Mono<Product> adjustProductStock(
+            @PathVariable String franchiseId,
+            @PathVariable String branchId,
+            @PathVariable String productId,
+            @Valid @RequestBody AdjustStockRequest request) {
+        return updateProductStockUseCase.adjustProductStock(franchiseId, branchId, productId, request.getDelta());
+    }
+
+    @PostMapping(value = "/stock/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<StockUpdateResult> bulkUpdateProductStock(@RequestBody Flux<BulkStockUpdateRequest> requests) {
+        return updateProductStockUseCase.bulkUpdateProductStock(requests.map(this::toStockUpdate));
+    }
+
+    @GetMapping(value = "/{franchiseId}/top-products", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<TopProductResponse> getTopProductsByBranch(
+            @PathVariable String franchiseId,
+            @RequestParam(defaultValue = "1") int limit) {
+        return getTopProductsByBranchUseCase.getTopProductsByBranch(franchiseId, limit)
+                .map(this::toTopProductResponse);
+    }
+
+    @GetMapping(value = "/{franchiseId}/top-products/overall", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<TopProductResponse> getFranchiseTopProducts(
+            @PathVariable String franchiseId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return getTopProductsByBranchUseCase.getFranchiseTopProducts(franchiseId, limit)
+                .map(this::toTopProductResponse);
     }
 
     @GetMapping("/{franchiseId}")
-    public Mono<Franchise> getFranchiseById(@PathVariable String franchiseId) {
-        return getFranchiseUseCase.getFranchiseById(franchiseId);
+    public Mono<?> getFranchiseById(
+            @PathVariable String franchiseId,
+            @RequestParam(defaultValue = "full") String view) {
+        FranchiseView franchiseView = FranchiseView.from(view);
+        if (franchiseView == FranchiseView.FULL) {
+            return getFranchiseUseCase.getFranchiseById(franchiseId);
+        }
+        return getFranchiseUseCase.getFranchiseSummary(franchiseId, franchiseView);
     }
 
-    @GetMapping
-    public Flux<Franchise> getAllFranchises() {
-        return getFranchiseUseCase.getAllFranchises();
+    @GetMapping(produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<?> getAllFranchises(@RequestParam(defaultValue = "full") String view) {
+        FranchiseView franchiseView = FranchiseView.from(view);
+        if (franchiseView == FranchiseView.FULL) {
+            return getFranchiseUseCase.getAllFranchises();
+        }
+        return getFranchiseUseCase.getFranchiseSummaries(franchiseView);
+    }
+
+    @GetMapping(value = "/{franchiseId}/stream", produces = {
+            MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<FranchiseStreamEvent> streamFranchise(
+            @PathVariable String franchiseId,
+            @RequestParam(defaultValue = "true") boolean products) {
+        return getFranchiseUseCase.streamFranchise(franchiseId, products);
+    }
+
+    @GetMapping("/page")
+    public Mono<FranchisePage> getFranchisesPage(
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return getFranchiseUseCase.getFranchisesPage(namePrefix, cursor, size);
+    }
+
+    @PostMapping("/batch")
+    public Flux<FranchiseLookup> getFranchisesByIds(@Valid @RequestBody FranchiseBatchRequest request) {
+        return getFranchiseUseCase.getFranchisesByIds(request.getIds());
     }
 
     @PatchMapping("/{franchiseId}/name")
@@ -116,4 +178,23 @@ public class FranchiseController {
             @Valid @RequestBody UpdateNameRequest request) {
         return updateProductNameUseCase.updateProductName(franchiseId, branchId, productId, request.getName());
     }
+
+    private FranchiseStockUpdate toStockUpdate(BulkStockUpdateRequest request) {
+        return FranchiseStockUpdate.builder()
+                .franchiseId(request.getFranchiseId())
+                .branchId(request.getBranchId())
+                .productId(request.getProductId())
+                .stock(request.getStock())
+                .build();
+    }
+
+    private TopProductResponse toTopProductResponse(TopProduct topProduct) {
+        return TopProductResponse.builder()
+                .branchId(topProduct.getBranchId())
+                .branchName(topProduct.getBranchName())
+                .productId(topProduct.getProductId())
+                .productName(topProduct.getProductName())
+                .stock(topProduct.getStock())
+                .build();
+    }
 }
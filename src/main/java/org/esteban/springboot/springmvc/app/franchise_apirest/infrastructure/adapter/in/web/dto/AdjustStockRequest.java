@@ -0,0 +1,16 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.in.web.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdjustStockRequest {
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+}
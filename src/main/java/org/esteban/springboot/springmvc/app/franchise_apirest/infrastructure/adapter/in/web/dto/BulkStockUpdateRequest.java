@@ -0,0 +1,21 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.in.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a bulk stock update. Not bean-validated: an invalid entry is reported in its own result line
+ * instead of rejecting the whole request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStockUpdateRequest {
+    private String franchiseId;
+    private String branchId;
+    private String productId;
+    private Integer stock;
+}
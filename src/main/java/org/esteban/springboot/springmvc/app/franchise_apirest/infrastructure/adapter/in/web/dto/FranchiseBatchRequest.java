@@ -0,0 +1,18 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.in.web.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FranchiseBatchRequest {
+    @NotEmpty(message = "At least one franchise id is required")
+    private List<String> ids;
+}
@@ -0,0 +1,81 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.in.web.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the body bytes written for each response, tagged like {@code http.server.requests}. Buffers are counted
+ * as they pass to the server, so streamed responses are measured without being held in memory.
+ */
+@RequiredArgsConstructor
+public class ResponseSizeMetricsFilter implements WebFilter {
+
+    private static final String SUMMARY = "http.server.response.size";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        AtomicLong bytes = new AtomicLong();
+        ServerHttpResponse response = new CountingResponse(exchange.getResponse(), bytes);
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> record(exchange, bytes.get()));
+    }
+
+    private void record(ServerWebExchange exchange, long bytes) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        DistributionSummary.builder(SUMMARY)
+                .description("Response body size")
+                .baseUnit("bytes")
+                .tag("method", exchange.getRequest().getMethod().name())
+                .tag("uri", uri(exchange))
+                .tag("status", status == null ? "200" : String.valueOf(status.value()))
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    // The route template keeps the tag cardinality bounded; raw paths would carry every franchise id
+    private static String uri(ServerWebExchange exchange) {
+        PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.getPatternString();
+    }
+
+    private static final class CountingResponse extends ServerHttpResponseDecorator {
+
+        private final AtomicLong bytes;
+
+        CountingResponse(ServerHttpResponse delegate, AtomicLong bytes) {
+            super(delegate);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(this::count));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body).map(chunk -> Flux.from(chunk).doOnNext(this::count)));
+        }
+
+        private void count(DataBuffer buffer) {
+            bytes.addAndGet(buffer.readableByteCount());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ConcurrentUpdateException;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePageCursor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache in front of another {@link FranchiseRepositoryPort}.
+ * Entries are private copies: callers always receive their own {@link Franchise}, so mutating a
+ * returned aggregate never leaks into the cache. Writes refresh the entry with the stored result,
+ * and a racing read can only replace an entry with an equal or newer document version.
+ */
+@RequiredArgsConstructor
+public class CachingFranchiseRepository implements FranchiseRepositoryPort {
+
+    private final FranchiseRepositoryPort delegate;
+    private final Cache<String, Franchise> cache;
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return delegate.save(franchise)
+                .doOnNext(this::cacheIfNewer)
+                .doOnError(ConcurrentUpdateException.class, e -> cache.invalidate(franchise.getId()));
+    }
+
+    @Override
+    public Mono<Franchise> findById(String id) {
+        return Mono.defer(() -> {
+            Franchise cached = cache.getIfPresent(id);
+            if (cached != null) {
+                return Mono.just(cached.copy());
+            }
+            return delegate.findById(id).doOnNext(this::cacheIfNewer);
+        });
+    }
+
+    @Override
+    public Flux<Franchise> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Mono<FranchiseSummary> findSummaryById(String id, boolean withBranches) {
+        return Mono.defer(() -> {
+            Franchise cached = cache.getIfPresent(id);
+            return cached != null
+                    ? Mono.just(FranchiseSummary.from(cached, withBranches))
+                    : delegate.findSummaryById(id, withBranches);
+        });
+    }
+
+    @Override
+    public Flux<FranchiseSummary> findAllSummaries(boolean withBranches) {
+        return delegate.findAllSummaries(withBranches);
+    }
+
+    // Cached entries are replaced, never mutated, so branches can be copied one at a time as they are emitted
+    @Override
+    public Flux<Branch> streamBranches(String franchiseId, boolean withProducts) {
+        return Flux.defer(() -> {
+            Franchise cached = cache.getIfPresent(franchiseId);
+            if (cached == null) {
+                return delegate.streamBranches(franchiseId, withProducts);
+            }
+            return Flux.fromIterable(cached.getBranches())
+                    .map(branch -> withProducts
+                            ? branch.copy()
+                            : Branch.builder().id(branch.getId()).name(branch.getName()).build());
+        });
+    }
+
+    @Override
+    public Flux<Franchise> findAllById(Collection<String> ids) {
+        return Flux.defer(() -> {
+            List<Franchise> hits = new ArrayList<>();
+            List<String> misses = new ArrayList<>();
+            for (String id : ids) {
+                Franchise cached = cache.getIfPresent(id);
+                if (cached != null) {
+                    hits.add(cached.copy());
+                } else {
+                    misses.add(id);
+                }
+            }
+            Flux<Franchise> loaded = misses.isEmpty()
+                    ? Flux.empty()
+                    : delegate.findAllById(misses).doOnNext(this::cacheIfNewer);
+            return Flux.fromIterable(hits).concatWith(loaded);
+        });
+    }
+
+    @Override
+    public Flux<Franchise> findPage(String namePrefix, FranchisePageCursor after, int limit) {
+        return delegate.findPage(namePrefix, after, limit);
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return delegate.deleteById(id)
+                .doFinally(signal -> cache.invalidate(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return Mono.defer(() -> cache.getIfPresent(id) != null
+                ? Mono.just(true)
+                : delegate.existsById(id));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId, Integer stock) {
+        return refresh(franchiseId, delegate.updateProductStock(franchiseId, branchId, productId, stock));
+    }
+
+    @Override
+    public Mono<Franchise> adjustProductStock(String franchiseId, String branchId, String productId, int delta) {
+        return refresh(franchiseId, delegate.adjustProductStock(franchiseId, branchId, productId, delta));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStocks(String franchiseId, List<StockUpdate> updates) {
+        return refresh(franchiseId, delegate.updateProductStocks(franchiseId, updates));
+    }
+
+    // Bulk results carry no franchise to refresh from, so every touched entry is dropped before the results go out
+    @Override
+    public Flux<StockUpdateResult> bulkUpdateProductStocks(List<FranchiseStockUpdate> updates) {
+        Set<String> franchiseIds = updates.stream()
+                .map(FranchiseStockUpdate::getFranchiseId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return delegate.bulkUpdateProductStocks(updates)
+                .collectList()
+                .doOnSuccess(results -> cache.invalidateAll(franchiseIds))
+                .doOnError(e -> cache.invalidateAll(franchiseIds))
+                .doOnCancel(() -> cache.invalidateAll(franchiseIds))
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Mono<Franchise> addBranch(String franchiseId, Branch branch) {
+        return refresh(franchiseId, delegate.addBranch(franchiseId, branch));
+    }
+
+    @Override
+    public Mono<Franchise> addProduct(String franchiseId, String branchId, Product product) {
+        return refresh(franchiseId, delegate.addProduct(franchiseId, branchId, product));
+    }
+
+    @Override
+    public Mono<Franchise> removeProduct(String franchiseId, String branchId, String productId) {
+        return refresh(franchiseId, delegate.removeProduct(franchiseId, branchId, productId));
+    }
+
+    @Override
+    public Mono<Franchise> updateFranchiseName(String franchiseId, String name) {
+        return refresh(franchiseId, delegate.updateFranchiseName(franchiseId, name));
+    }
+
+    @Override
+    public Mono<Franchise> updateBranchName(String franchiseId, String branchId, String name) {
+        return refresh(franchiseId, delegate.updateBranchName(franchiseId, branchId, name));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId, String name) {
+        return refresh(franchiseId, delegate.updateProductName(franchiseId, branchId, productId, name));
+    }
+
+    @Override
+    public Flux<TopProduct> findTopProductsByBranch(String franchiseId, int limit) {
+        return Flux.defer(() -> {
+            Franchise cached = cache.getIfPresent(franchiseId);
+            if (cached == null) {
+                return delegate.findTopProductsByBranch(franchiseId, limit);
+            }
+            return Flux.fromIterable(cached.getBranches())
+                    .concatMapIterable(branch -> branch.getTopProductsByStock(limit).stream()
+                            .map(product -> TopProduct.builder()
+                                    .branchId(branch.getId())
+                                    .branchName(branch.getName())
+                                    .productId(product.getId())
+                                    .productName(product.getName())
+                                    .stock(product.getStock())
+                                    .build())
+                            .toList());
+        });
+    }
+
+    // An update that matched nothing means the cached view disagrees with the store, so drop it
+    private Mono<Franchise> refresh(String franchiseId, Mono<Franchise> write) {
+        return write
+                .doOnNext(this::cacheIfNewer)
+                .switchIfEmpty(Mono.fromRunnable(() -> cache.invalidate(franchiseId)))
+                .doOnError(e -> cache.invalidate(franchiseId));
+    }
+
+    private void cacheIfNewer(Franchise franchise) {
+        if (franchise.getId() == null) {
+            return;
+        }
+        cache.asMap().merge(franchise.getId(), franchise.copy(),
+                (current, candidate) -> isOlder(candidate, current) ? current : candidate);
+    }
+
+    private boolean isOlder(Franchise candidate, Franchise current) {
+        return candidate.getVersion() != null
+                && current.getVersion() != null
+                && candidate.getVersion() < current.getVersion();
+    }
+}
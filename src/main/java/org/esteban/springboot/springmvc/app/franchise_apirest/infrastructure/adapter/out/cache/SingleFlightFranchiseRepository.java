@@ -0,0 +1,177 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePageCursor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collapses concurrent {@code findById} calls for the same id into a single query against the delegate.
+ * The shared load is detached from its first subscriber, so a cancelled caller does not fail the others,
+ * and every subscriber receives its own copy of the mutable {@link Franchise}.
+ */
+public class SingleFlightFranchiseRepository implements FranchiseRepositoryPort {
+
+    private final FranchiseRepositoryPort delegate;
+    private final ConcurrentMap<String, CompletableFuture<Franchise>> inFlight = new ConcurrentHashMap<>();
+    private final Counter collapsedReads;
+
+    public SingleFlightFranchiseRepository(FranchiseRepositoryPort delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.collapsedReads = Counter.builder("franchise.reads.collapsed")
+                .description("findById calls served by an already in-flight query")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Franchise> findById(String id) {
+        return Mono.defer(() -> {
+            CompletableFuture<Franchise> load = new CompletableFuture<>();
+            CompletableFuture<Franchise> existing = inFlight.putIfAbsent(id, load);
+            if (existing != null) {
+                collapsedReads.increment();
+                return share(existing);
+            }
+            load.whenComplete((franchise, error) -> inFlight.remove(id, load));
+            delegate.findById(id).subscribe(load::complete, load::completeExceptionally, () -> load.complete(null));
+            return share(load);
+        });
+    }
+
+    public long getCollapsedCount() {
+        return (long) collapsedReads.count();
+    }
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return afterWrite(franchise.getId(), delegate.save(franchise));
+    }
+
+    @Override
+    public Flux<Franchise> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Mono<FranchiseSummary> findSummaryById(String id, boolean withBranches) {
+        return delegate.findSummaryById(id, withBranches);
+    }
+
+    @Override
+    public Flux<FranchiseSummary> findAllSummaries(boolean withBranches) {
+        return delegate.findAllSummaries(withBranches);
+    }
+
+    @Override
+    public Flux<Branch> streamBranches(String franchiseId, boolean withProducts) {
+        return delegate.streamBranches(franchiseId, withProducts);
+    }
+
+    @Override
+    public Flux<Franchise> findAllById(Collection<String> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Flux<Franchise> findPage(String namePrefix, FranchisePageCursor after, int limit) {
+        return delegate.findPage(namePrefix, after, limit);
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return afterWrite(id, delegate.deleteById(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId, Integer stock) {
+        return afterWrite(franchiseId, delegate.updateProductStock(franchiseId, branchId, productId, stock));
+    }
+
+    @Override
+    public Mono<Franchise> adjustProductStock(String franchiseId, String branchId, String productId, int delta) {
+        return afterWrite(franchiseId, delegate.adjustProductStock(franchiseId, branchId, productId, delta));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStocks(String franchiseId, List<StockUpdate> updates) {
+        return afterWrite(franchiseId, delegate.updateProductStocks(franchiseId, updates));
+    }
+
+    @Override
+    public Flux<StockUpdateResult> bulkUpdateProductStocks(List<FranchiseStockUpdate> updates) {
+        return delegate.bulkUpdateProductStocks(updates).doFinally(signal -> updates.stream()
+                .map(FranchiseStockUpdate::getFranchiseId)
+                .filter(Objects::nonNull)
+                .forEach(inFlight::remove));
+    }
+
+    @Override
+    public Mono<Franchise> addBranch(String franchiseId, Branch branch) {
+        return afterWrite(franchiseId, delegate.addBranch(franchiseId, branch));
+    }
+
+    @Override
+    public Mono<Franchise> addProduct(String franchiseId, String branchId, Product product) {
+        return afterWrite(franchiseId, delegate.addProduct(franchiseId, branchId, product));
+    }
+
+    @Override
+    public Mono<Franchise> removeProduct(String franchiseId, String branchId, String productId) {
+        return afterWrite(franchiseId, delegate.removeProduct(franchiseId, branchId, productId));
+    }
+
+    @Override
+    public Mono<Franchise> updateFranchiseName(String franchiseId, String name) {
+        return afterWrite(franchiseId, delegate.updateFranchiseName(franchiseId, name));
+    }
+
+    @Override
+    public Mono<Franchise> updateBranchName(String franchiseId, String branchId, String name) {
+        return afterWrite(franchiseId, delegate.updateBranchName(franchiseId, branchId, name));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId, String name) {
+        return afterWrite(franchiseId, delegate.updateProductName(franchiseId, branchId, productId, name));
+    }
+
+    @Override
+    public Flux<TopProduct> findTopProductsByBranch(String franchiseId, int limit) {
+        return delegate.findTopProductsByBranch(franchiseId, limit);
+    }
+
+    private Mono<Franchise> share(CompletableFuture<Franchise> load) {
+        return Mono.fromFuture(load, true).map(Franchise::copy);
+    }
+
+    // Reads that joined before the write may still see the old document; later reads must start a fresh query
+    private <T> Mono<T> afterWrite(String franchiseId, Mono<T> write) {
+        return write.doFinally(signal -> {
+            if (franchiseId != null) {
+                inFlight.remove(franchiseId);
+            }
+        });
+    }
+}
@@ -0,0 +1,328 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.coalescing;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePageCursor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers {@code updateProductStock} calls per franchise and writes them with one {@code updateProductStocks}.
+ * A buffer is flushed once no update has arrived for {@code flushLatency}, once its oldest update has waited
+ * {@code maxStaleness}, or as soon as it holds {@code maxBatchSize} distinct products, whichever comes first.
+ * Within a buffer the last stock per product wins, and every caller is acknowledged with the franchise the
+ * write returned. Flushes of one franchise never overlap, so a later stock cannot be overtaken by an earlier
+ * one; updates arriving during a flush wait for it, which can stretch their staleness by one write.
+ * <p>
+ * Only single absolute stock updates are buffered. Relative adjustments and multi-product stock writes first flush
+ * what is buffered for their franchises and wait for it to be written, so a stock set before a delta can never land
+ * after it and erase it. Other writes go straight through and are not ordered against buffered stocks.
+ */
+public class CoalescingStockFranchiseRepository implements FranchiseRepositoryPort {
+
+    private final FranchiseRepositoryPort delegate;
+    private final Scheduler scheduler;
+    private final long flushLatencyNanos;
+    private final long maxStalenessNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary callersPerFlush;
+    private final DistributionSummary productsPerFlush;
+    private final ConcurrentMap<String, StockBuffer> buffers = new ConcurrentHashMap<>();
+
+    public CoalescingStockFranchiseRepository(FranchiseRepositoryPort delegate, Scheduler scheduler,
+                                              Duration flushLatency, Duration maxStaleness, int maxBatchSize,
+                                              MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+        this.flushLatencyNanos = flushLatency.toNanos();
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.callersPerFlush = DistributionSummary.builder("franchise.stock.flush.callers")
+                .description("Stock updates acknowledged by one coalesced write")
+                .register(meterRegistry);
+        this.productsPerFlush = DistributionSummary.builder("franchise.stock.flush.products")
+                .description("Distinct products written by one coalesced write")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId, Integer stock) {
+        return Mono.defer(() -> {
+            PendingStock pending = new PendingStock(new StockUpdate(branchId, productId, stock), Sinks.one());
+            StockBuffer buffer;
+            do {
+                buffer = buffers.computeIfAbsent(franchiseId, StockBuffer::new);
+            } while (!buffer.add(pending));
+            return pending.result().asMono();
+        });
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStocks(String franchiseId, List<StockUpdate> updates) {
+        return drain(franchiseId).then(Mono.defer(() -> delegate.updateProductStocks(franchiseId, updates)));
+    }
+
+    @Override
+    public Flux<StockUpdateResult> bulkUpdateProductStocks(List<FranchiseStockUpdate> updates) {
+        return Flux.fromIterable(FranchiseStockUpdate.byFranchise(updates).keySet())
+                .flatMap(this::drain)
+                .thenMany(Flux.defer(() -> delegate.bulkUpdateProductStocks(updates)));
+    }
+
+    @Override
+    public Mono<Franchise> adjustProductStock(String franchiseId, String branchId, String productId, int delta) {
+        return drain(franchiseId)
+                .then(Mono.defer(() -> delegate.adjustProductStock(franchiseId, branchId, productId, delta)));
+    }
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return delegate.save(franchise);
+    }
+
+    @Override
+    public Mono<Franchise> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Flux<Franchise> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Mono<FranchiseSummary> findSummaryById(String id, boolean withBranches) {
+        return delegate.findSummaryById(id, withBranches);
+    }
+
+    @Override
+    public Flux<FranchiseSummary> findAllSummaries(boolean withBranches) {
+        return delegate.findAllSummaries(withBranches);
+    }
+
+    @Override
+    public Flux<Branch> streamBranches(String franchiseId, boolean withProducts) {
+        return delegate.streamBranches(franchiseId, withProducts);
+    }
+
+    @Override
+    public Flux<Franchise> findAllById(Collection<String> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Flux<Franchise> findPage(String namePrefix, FranchisePageCursor after, int limit) {
+        return delegate.findPage(namePrefix, after, limit);
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return delegate.deleteById(id);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public Mono<Franchise> addBranch(String franchiseId, Branch branch) {
+        return delegate.addBranch(franchiseId, branch);
+    }
+
+    @Override
+    public Mono<Franchise> addProduct(String franchiseId, String branchId, Product product) {
+        return delegate.addProduct(franchiseId, branchId, product);
+    }
+
+    @Override
+    public Mono<Franchise> removeProduct(String franchiseId, String branchId, String productId) {
+        return delegate.removeProduct(franchiseId, branchId, productId);
+    }
+
+    @Override
+    public Mono<Franchise> updateFranchiseName(String franchiseId, String name) {
+        return delegate.updateFranchiseName(franchiseId, name);
+    }
+
+    @Override
+    public Mono<Franchise> updateBranchName(String franchiseId, String branchId, String name) {
+        return delegate.updateBranchName(franchiseId, branchId, name);
+    }
+
+    @Override
+    public Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId, String name) {
+        return delegate.updateProductName(franchiseId, branchId, productId, name);
+    }
+
+    @Override
+    public Flux<TopProduct> findTopProductsByBranch(String franchiseId, int limit) {
+        return delegate.findTopProductsByBranch(franchiseId, limit);
+    }
+
+    // Completes once every stock update buffered so far for the franchise is written, successfully or not
+    private Mono<Void> drain(String franchiseId) {
+        return Mono.defer(() -> {
+            StockBuffer buffer = buffers.get(franchiseId);
+            return buffer == null ? Mono.empty() : buffer.drain();
+        });
+    }
+
+    private final class StockBuffer {
+
+        private final String franchiseId;
+        private Map<String, StockUpdate> latest = new LinkedHashMap<>();
+        private List<PendingStock> waiting = new ArrayList<>();
+        private long oldestNanos;
+        private Disposable timer;
+        private PendingStock lastInFlight;
+        private boolean flushing;
+        private boolean draining;
+        private boolean retired;
+
+        StockBuffer(String franchiseId) {
+            this.franchiseId = franchiseId;
+        }
+
+        // False once the buffer has been removed from the map; the caller then starts a new one
+        boolean add(PendingStock pending) {
+            boolean full;
+            synchronized (this) {
+                if (retired) {
+                    return false;
+                }
+                if (waiting.isEmpty()) {
+                    oldestNanos = scheduler.now(TimeUnit.NANOSECONDS);
+                }
+                waiting.add(pending);
+                StockUpdate update = pending.update();
+                latest.put(update.getBranchId() + '/' + update.getProductId(), update);
+                full = latest.size() >= maxBatchSize;
+                if (!flushing && !full) {
+                    schedule();
+                }
+            }
+            if (full) {
+                flush();
+            }
+            return true;
+        }
+
+        // Every caller of a flush is acknowledged together, so waiting on the newest one covers all updates before it
+        Mono<Void> drain() {
+            PendingStock last;
+            synchronized (this) {
+                if (!waiting.isEmpty()) {
+                    last = waiting.get(waiting.size() - 1);
+                    draining = true;
+                } else {
+                    last = lastInFlight;
+                }
+            }
+            if (last == null) {
+                return Mono.empty();
+            }
+            flush();
+            return last.result().asMono().onErrorResume(error -> Mono.empty()).then();
+        }
+
+        // Quiet-period debounce, capped so the oldest buffered update is written within maxStaleness
+        private void schedule() {
+            if (timer != null) {
+                timer.dispose();
+            }
+            long untilStale = maxStalenessNanos - (scheduler.now(TimeUnit.NANOSECONDS) - oldestNanos);
+            long delay = Math.max(0, Math.min(flushLatencyNanos, untilStale));
+            timer = scheduler.schedule(this::flush, delay, TimeUnit.NANOSECONDS);
+        }
+
+        private void flush() {
+            List<PendingStock> batch;
+            List<StockUpdate> updates;
+            synchronized (this) {
+                if (flushing || waiting.isEmpty()) {
+                    return;
+                }
+                if (timer != null) {
+                    timer.dispose();
+                    timer = null;
+                }
+                batch = waiting;
+                updates = new ArrayList<>(latest.values());
+                waiting = new ArrayList<>();
+                latest = new LinkedHashMap<>();
+                lastInFlight = batch.get(batch.size() - 1);
+                flushing = true;
+                draining = false;
+            }
+            callersPerFlush.record(batch.size());
+            productsPerFlush.record(updates.size());
+            delegate.updateProductStocks(franchiseId, updates)
+                    .doOnSuccess(franchise -> acknowledge(batch, franchise))
+                    .doOnError(error -> batch.forEach(pending -> pending.result().tryEmitError(error)))
+                    .onErrorResume(error -> Mono.empty())
+                    .doFinally(signal -> afterFlush())
+                    .subscribe();
+        }
+
+        private void afterFlush() {
+            boolean flushNow;
+            synchronized (this) {
+                flushing = false;
+                lastInFlight = null;
+                if (waiting.isEmpty()) {
+                    retired = true;
+                    buffers.remove(franchiseId, this);
+                    return;
+                }
+                flushNow = latest.size() >= maxBatchSize || draining;
+                if (!flushNow) {
+                    schedule();
+                }
+            }
+            if (flushNow) {
+                flush();
+            }
+        }
+
+        // A product missing from the written franchise was not updated; the empty signal lets the caller report it
+        private void acknowledge(List<PendingStock> batch, Franchise franchise) {
+            for (PendingStock pending : batch) {
+                StockUpdate update = pending.update();
+                boolean applied = franchise != null && franchise.findBranchById(update.getBranchId())
+                        .flatMap(branch -> branch.findProductById(update.getProductId()))
+                        .isPresent();
+                if (applied) {
+                    pending.result().tryEmitValue(franchise.copy());
+                } else {
+                    pending.result().tryEmitEmpty();
+                }
+            }
+        }
+    }
+
+    private record PendingStock(StockUpdate update, Sinks.One<Franchise> result) {
+    }
+}
@@ -0,0 +1,135 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.memory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Periodically writes the in-memory franchises to a JSON file and reads them back on startup. Snapshots are
+ * immutable, so writing needs no lock and each franchise is internally consistent; the file as a whole is not a
+ * point-in-time cut across franchises. The file is replaced atomically, so a crash mid-write keeps the previous one.
+ */
+@Slf4j
+public class FranchiseSnapshotFile {
+
+    private static final TypeReference<List<StoredFranchise>> FRANCHISES = new TypeReference<>() {
+    };
+
+    private final InMemoryFranchiseRepositoryAdapter repository;
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final Duration interval;
+    private Disposable schedule;
+
+    public FranchiseSnapshotFile(InMemoryFranchiseRepositoryAdapter repository, ObjectMapper objectMapper,
+                                 Path path, Duration interval) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.path = path;
+        this.interval = interval;
+    }
+
+    public void start() {
+        restore();
+        schedule = Flux.interval(interval, interval, Schedulers.boundedElastic())
+                .subscribe(tick -> write(), error -> log.error("Franchise snapshots stopped", error));
+    }
+
+    public void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+        write();
+    }
+
+    void restore() {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            List<StoredFranchise> stored = objectMapper.readerFor(FRANCHISES)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(path.toFile());
+            List<Franchise> franchises = stored.stream().map(StoredFranchise::toDomain).toList();
+            repository.restore(franchises);
+            log.info("Restored {} franchises from {}", franchises.size(), path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read franchise snapshot " + path, e);
+        }
+    }
+
+    synchronized void write() {
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                objectMapper.writeValue(out, repository.snapshots().stream().map(StoredFranchise::of).toList());
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Cannot write franchise snapshot {}", path, e);
+        }
+    }
+
+    // The file format is kept apart from the domain classes, whose derived getters are not state
+    record StoredFranchise(String id, String name, Long version, List<StoredBranch> branches) {
+
+        static StoredFranchise of(Franchise franchise) {
+            return new StoredFranchise(franchise.getId(), franchise.getName(), franchise.getVersion(),
+                    franchise.getBranches().stream().map(StoredBranch::of).toList());
+        }
+
+        Franchise toDomain() {
+            List<Branch> domainBranches = new ArrayList<>(branches == null ? 0 : branches.size());
+            if (branches != null) {
+                branches.forEach(branch -> domainBranches.add(branch.toDomain()));
+            }
+            return new Franchise(id, name, version, domainBranches);
+        }
+    }
+
+    record StoredBranch(String id, String name, List<StoredProduct> products) {
+
+        static StoredBranch of(Branch branch) {
+            return new StoredBranch(branch.getId(), branch.getName(),
+                    branch.getProducts().stream().map(StoredProduct::of).toList());
+        }
+
+        Branch toDomain() {
+            List<Product> domainProducts = new ArrayList<>(products == null ? 0 : products.size());
+            if (products != null) {
+                products.forEach(product -> domainProducts.add(product.toDomain()));
+            }
+            return new Branch(id, name, domainProducts);
+        }
+    }
+
+    record StoredProduct(String id, String name, Integer stock) {
+
+        static StoredProduct of(Product product) {
+            return new StoredProduct(product.getId(), product.getName(), product.getStock());
+        }
+
+        Product toDomain() {
+            return new Product(id, name, stock);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.memory;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ConcurrentUpdateException;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePageCursor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * Storage that keeps every franchise in memory as an immutable snapshot behind its own {@link AtomicReference}.
+ * <p>
+ * A write copies the snapshot, changes the copy and publishes it with a compare-and-set, retrying if another write
+ * got there first, so updates to one franchise are linearizable while different franchises never contend. Only the
+ * touched branch is copied; the others are shared between snapshots, which is safe because published snapshots are
+ * never mutated. Callers always receive their own copy, the way a database materializes a new aggregate per read.
+ * {@link #save} keeps the optimistic version check of the Mongo adapters, so the conflict retry policy behaves the
+ * same on both.
+ */
+public class InMemoryFranchiseRepositoryAdapter implements FranchiseRepositoryPort {
+
+    private static final Comparator<Franchise> BY_NAME_THEN_ID =
+            Comparator.comparing(Franchise::getName).thenComparing(Franchise::getId);
+
+    private final ConcurrentMap<String, AtomicReference<Franchise>> franchises = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return Mono.fromCallable(() -> franchise.getId() == null ? insert(franchise) : replace(franchise));
+    }
+
+    @Override
+    public Mono<Franchise> findById(String id) {
+        return Mono.fromSupplier(() -> copyOf(current(id)));
+    }
+
+    @Override
+    public Flux<Franchise> findAll() {
+        return Flux.defer(() -> Flux.fromIterable(snapshots())).map(Franchise::copy);
+    }
+
+    @Override
+    public Mono<FranchiseSummary> findSummaryById(String id, boolean withBranches) {
+        return Mono.fromSupplier(() -> {
+            Franchise franchise = current(id);
+            return franchise == null ? null : FranchiseSummary.from(franchise, withBranches);
+        });
+    }
+
+    @Override
+    public Flux<FranchiseSummary> findAllSummaries(boolean withBranches) {
+        return Flux.defer(() -> Flux.fromIterable(snapshots()))
+                .map(franchise -> FranchiseSummary.from(franchise, withBranches));
+    }
+
+    @Override
+    public Flux<Branch> streamBranches(String franchiseId, boolean withProducts) {
+        return Mono.fromSupplier(() -> current(franchiseId))
+                .flatMapIterable(Franchise::getBranches)
+                .map(branch -> withProducts
+                        ? branch.copy()
+                        : Branch.builder().id(branch.getId()).name(branch.getName()).build());
+    }
+
+    @Override
+    public Flux<Franchise> findAllById(Collection<String> ids) {
+        return Flux.fromIterable(ids).mapNotNull(id -> copyOf(current(id)));
+    }
+
+    @Override
+    public Flux<Franchise> findPage(String namePrefix, FranchisePageCursor after, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(snapshots()))
+                .filter(franchise -> namePrefix == null || franchise.getName().startsWith(namePrefix))
+                .filter(franchise -> after == null || BY_NAME_THEN_ID.compare(franchise,
+                        Franchise.builder().id(after.getId()).name(after.getName()).build()) > 0)
+                .sort(BY_NAME_THEN_ID)
+                .take(limit)
+                .map(Franchise::copy);
+    }
+
+    // The cleared reference fails any write that already holds it, so it cannot resurrect the franchise
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.fromRunnable(() -> {
+            AtomicReference<Franchise> holder = franchises.remove(id);
+            if (holder != null) {
+                holder.set(null);
+            }
+        });
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return Mono.fromSupplier(() -> current(id) != null);
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId, Integer stock) {
+        return updateBranch(franchiseId, branchId, branch -> branch.findProductById(productId)
+                .map(product -> {
+                    product.setStock(stock);
+                    return true;
+                })
+                .orElse(false));
+    }
+
+    @Override
+    public Mono<Franchise> adjustProductStock(String franchiseId, String branchId, String productId, int delta) {
+        return updateBranch(franchiseId, branchId, branch -> branch.findProductById(productId)
+                .filter(product -> {
+                    long adjusted = (long) product.getStock() + delta;
+                    return adjusted >= 0 && adjusted <= Integer.MAX_VALUE;
+                })
+                .map(product -> {
+                    product.adjustStock(delta);
+                    return true;
+                })
+                .orElse(false));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStocks(String franchiseId, List<StockUpdate> updates) {
+        return update(franchiseId, franchise -> {
+            List<Branch> branches = franchise.getBranches();
+            Set<Integer> copied = new HashSet<>();
+            for (StockUpdate update : updates) {
+                for (int i = 0; i < branches.size(); i++) {
+                    if (branches.get(i).getId().equals(update.getBranchId())) {
+                        if (copied.add(i)) {
+                            branches.set(i, branches.get(i).copy());
+                        }
+                        branches.get(i).findProductById(update.getProductId())
+                                .ifPresent(product -> product.setStock(update.getStock()));
+                        break;
+                    }
+                }
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public Flux<StockUpdateResult> bulkUpdateProductStocks(List<FranchiseStockUpdate> updates) {
+        return Flux.fromIterable(FranchiseStockUpdate.byFranchise(updates).entrySet())
+                .concatMap(entry -> updateProductStocks(entry.getKey(), entry.getValue()))
+                .collectMap(Franchise::getId)
+                .flatMapIterable(written -> StockUpdateResult.against(updates, written));
+    }
+
+    @Override
+    public Mono<Franchise> addBranch(String franchiseId, Branch branch) {
+        return update(franchiseId, franchise -> {
+            franchise.getBranches().add(branch.copy());
+            return true;
+        });
+    }
+
+    @Override
+    public Mono<Franchise> addProduct(String franchiseId, String branchId, Product product) {
+        return updateBranch(franchiseId, branchId, branch -> {
+            branch.addProduct(product.copy());
+            return true;
+        });
+    }
+
+    @Override
+    public Mono<Franchise> removeProduct(String franchiseId, String branchId, String productId) {
+        return updateBranch(franchiseId, branchId, branch -> branch.removeProduct(productId));
+    }
+
+    @Override
+    public Mono<Franchise> updateFranchiseName(String franchiseId, String name) {
+        return update(franchiseId, franchise -> {
+            franchise.setName(name);
+            return true;
+        });
+    }
+
+    @Override
+    public Mono<Franchise> updateBranchName(String franchiseId, String branchId, String name) {
+        return updateBranch(franchiseId, branchId, branch -> {
+            branch.setName(name);
+            return true;
+        });
+    }
+
+    @Override
+    public Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId, String name) {
+        return updateBranch(franchiseId, branchId, branch -> branch.findProductById(productId)
+                .map(product -> {
+                    product.setName(name);
+                    return true;
+                })
+                .orElse(false));
+    }
+
+    @Override
+    public Flux<TopProduct> findTopProductsByBranch(String franchiseId, int limit) {
+        return Mono.fromSupplier(() -> current(franchiseId))
+                .flatMapIterable(Franchise::getBranches)
+                .concatMapIterable(branch -> branch.getTopProductsByStock(limit).stream()
+                        .map(product -> TopProduct.builder()
+                                .branchId(branch.getId())
+                                .branchName(branch.getName())
+                                .productId(product.getId())
+                                .productName(product.getName())
+                                .stock(product.getStock())
+                                .build())
+                        .toList());
+    }
+
+    /**
+     * The published snapshots, for writing to disk. They must not be modified.
+     */
+    public List<Franchise> snapshots() {
+        List<Franchise> snapshots = new ArrayList<>(franchises.size());
+        for (AtomicReference<Franchise> holder : franchises.values()) {
+            Franchise franchise = holder.get();
+            if (franchise != null) {
+                snapshots.add(franchise);
+            }
+        }
+        return snapshots;
+    }
+
+    public void restore(Collection<Franchise> stored) {
+        for (Franchise franchise : stored) {
+            Franchise snapshot = franchise.copy();
+            if (snapshot.getVersion() == null) {
+                snapshot.setVersion(0L);
+            }
+            franchises.put(snapshot.getId(), new AtomicReference<>(snapshot));
+        }
+    }
+
+    private Franchise insert(Franchise franchise) {
+        Franchise created = new Franchise(UUID.randomUUID().toString(), franchise.getName(), 0L, copyBranches(franchise));
+        franchises.put(created.getId(), new AtomicReference<>(created));
+        return created.copy();
+    }
+
+    private Franchise replace(Franchise franchise) {
+        AtomicReference<Franchise> holder = franchises.get(franchise.getId());
+        Franchise current = holder == null ? null : holder.get();
+        if (current == null || !Objects.equals(current.getVersion(), franchise.getVersion())) {
+            throw new ConcurrentUpdateException("Franchise was modified concurrently: " + franchise.getId());
+        }
+        Franchise saved = new Franchise(franchise.getId(), franchise.getName(), current.getVersion() + 1,
+                copyBranches(franchise));
+        if (!holder.compareAndSet(current, saved)) {
+            throw new ConcurrentUpdateException("Franchise was modified concurrently: " + franchise.getId());
+        }
+        return saved.copy();
+    }
+
+    private Mono<Franchise> updateBranch(String franchiseId, String branchId, Predicate<Branch> change) {
+        return update(franchiseId, franchise -> {
+            List<Branch> branches = franchise.getBranches();
+            for (int i = 0; i < branches.size(); i++) {
+                if (branches.get(i).getId().equals(branchId)) {
+                    Branch branch = branches.get(i).copy();
+                    branches.set(i, branch);
+                    return change.test(branch);
+                }
+            }
+            return false;
+        });
+    }
+
+    // The change gets a new franchise with a new branch list but shared branches; it must copy any branch it touches
+    private Mono<Franchise> update(String franchiseId, Predicate<Franchise> change) {
+        return Mono.fromSupplier(() -> {
+            AtomicReference<Franchise> holder = franchises.get(franchiseId);
+            if (holder == null) {
+                return null;
+            }
+            while (true) {
+                Franchise current = holder.get();
+                if (current == null) {
+                    return null;
+                }
+                Franchise next = new Franchise(current.getId(), current.getName(), current.getVersion() + 1,
+                        new ArrayList<>(current.getBranches()));
+                if (!change.test(next)) {
+                    return null;
+                }
+                if (holder.compareAndSet(current, next)) {
+                    return next.copy();
+                }
+            }
+        });
+    }
+
+    private Franchise current(String id) {
+        AtomicReference<Franchise> holder = franchises.get(id);
+        return holder == null ? null : holder.get();
+    }
+
+    private static List<Branch> copyBranches(Franchise franchise) {
+        List<Branch> branches = new ArrayList<>(franchise.getBranches().size());
+        for (Branch branch : franchise.getBranches()) {
+            branches.add(branch.copy());
+        }
+        return branches;
+    }
+
+    private static Franchise copyOf(Franchise franchise) {
+        return franchise == null ? null : franchise.copy();
+    }
+}
@@ -0,0 +1,189 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePageCursor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Times every call into the storage adapter, tagged by operation and outcome, and records how many branches and
+ * products each franchise read from or written to storage carries. Sits directly on the storage, below the cache,
+ * so cache hits are not counted as repository calls.
+ */
+public class MeteredFranchiseRepository implements FranchiseRepositoryPort {
+
+    private static final String TIMER = "franchise.repository";
+
+    private final FranchiseRepositoryPort delegate;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary branchesPerDocument;
+    private final DistributionSummary productsPerDocument;
+
+    public MeteredFranchiseRepository(FranchiseRepositoryPort delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.branchesPerDocument = DistributionSummary.builder("franchise.document.branches")
+                .description("Branches per franchise document read or written")
+                .baseUnit("branches")
+                .register(meterRegistry);
+        this.productsPerDocument = DistributionSummary.builder("franchise.document.products")
+                .description("Products per franchise document read or written")
+                .baseUnit("products")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return timed("save", delegate.save(franchise).doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Mono<Franchise> findById(String id) {
+        return timed("findById", delegate.findById(id).doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Flux<Franchise> findAll() {
+        return timed("findAll", delegate.findAll().doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Mono<FranchiseSummary> findSummaryById(String id, boolean withBranches) {
+        return timed("findSummaryById", delegate.findSummaryById(id, withBranches));
+    }
+
+    @Override
+    public Flux<FranchiseSummary> findAllSummaries(boolean withBranches) {
+        return timed("findAllSummaries", delegate.findAllSummaries(withBranches));
+    }
+
+    @Override
+    public Flux<Branch> streamBranches(String franchiseId, boolean withProducts) {
+        return timed("streamBranches", delegate.streamBranches(franchiseId, withProducts));
+    }
+
+    @Override
+    public Flux<Franchise> findAllById(Collection<String> ids) {
+        return timed("findAllById", delegate.findAllById(ids).doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Flux<Franchise> findPage(String namePrefix, FranchisePageCursor after, int limit) {
+        return timed("findPage", delegate.findPage(namePrefix, after, limit).doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return timed("deleteById", delegate.deleteById(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return timed("existsById", delegate.existsById(id));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId, Integer stock) {
+        return timed("updateProductStock", delegate.updateProductStock(franchiseId, branchId, productId, stock)
+                .doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Mono<Franchise> adjustProductStock(String franchiseId, String branchId, String productId, int delta) {
+        return timed("adjustProductStock", delegate.adjustProductStock(franchiseId, branchId, productId, delta)
+                .doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStocks(String franchiseId, List<StockUpdate> updates) {
+        return timed("updateProductStocks", delegate.updateProductStocks(franchiseId, updates)
+                .doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Flux<StockUpdateResult> bulkUpdateProductStocks(List<FranchiseStockUpdate> updates) {
+        return timed("bulkUpdateProductStocks", delegate.bulkUpdateProductStocks(updates));
+    }
+
+    @Override
+    public Mono<Franchise> addBranch(String franchiseId, Branch branch) {
+        return timed("addBranch", delegate.addBranch(franchiseId, branch).doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Mono<Franchise> addProduct(String franchiseId, String branchId, Product product) {
+        return timed("addProduct", delegate.addProduct(franchiseId, branchId, product).doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Mono<Franchise> removeProduct(String franchiseId, String branchId, String productId) {
+        return timed("removeProduct", delegate.removeProduct(franchiseId, branchId, productId)
+                .doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Mono<Franchise> updateFranchiseName(String franchiseId, String name) {
+        return timed("updateFranchiseName", delegate.updateFranchiseName(franchiseId, name)
+                .doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Mono<Franchise> updateBranchName(String franchiseId, String branchId, String name) {
+        return timed("updateBranchName", delegate.updateBranchName(franchiseId, branchId, name)
+                .doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId, String name) {
+        return timed("updateProductName", delegate.updateProductName(franchiseId, branchId, productId, name)
+                .doOnNext(this::recordShape));
+    }
+
+    @Override
+    public Flux<TopProduct> findTopProductsByBranch(String franchiseId, int limit) {
+        return timed("findTopProductsByBranch", delegate.findTopProductsByBranch(franchiseId, limit));
+    }
+
+    private void recordShape(Franchise franchise) {
+        branchesPerDocument.record(franchise.getBranches().size());
+        productsPerDocument.record(franchise.countProducts());
+    }
+
+    private <T> Mono<T> timed(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call
+                    .doOnSuccess(value -> stop(sample, operation, "success"))
+                    .doOnError(error -> stop(sample, operation, "error"))
+                    .doOnCancel(() -> stop(sample, operation, "cancelled"));
+        });
+    }
+
+    private <T> Flux<T> timed(String operation, Flux<T> call) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call
+                    .doOnComplete(() -> stop(sample, operation, "success"))
+                    .doOnError(error -> stop(sample, operation, "error"))
+                    .doOnCancel(() -> stop(sample, operation, "cancelled"));
+        });
+    }
+
+    private void stop(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(meterRegistry.timer(TIMER, "op", operation, "outcome", outcome));
+    }
+}
@@ -0,0 +1,112 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.FranchiseEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.repository.FranchiseMongoRepository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Gathers single-id lookups for up to {@code window} or {@code maxBatchSize} ids and resolves them with one
+ * {@code _id $in} query. Each caller still gets its own {@link Mono}, completed empty when the id is missing.
+ * <p>
+ * Batches wait, instead of failing, while all {@code maxConcurrentBatches} queries are in flight. Should the
+ * pipeline ever terminate, it is restarted for later callers and the caller that found it dead queries directly.
+ */
+public class FranchiseBatchLoader {
+
+    private final FranchiseMongoRepository mongoRepository;
+    private final int maxBatchSize;
+    private final Duration window;
+    private final int maxConcurrentBatches;
+    private final Object emitLock = new Object();
+    private Pipeline pipeline;
+    private boolean disposed;
+
+    public FranchiseBatchLoader(FranchiseMongoRepository mongoRepository, int maxBatchSize, Duration window,
+                                int maxConcurrentBatches) {
+        this.mongoRepository = mongoRepository;
+        this.maxBatchSize = maxBatchSize;
+        this.window = window;
+        this.maxConcurrentBatches = maxConcurrentBatches;
+        this.pipeline = start();
+    }
+
+    // Emission is serialized by a short lock rather than retried, so no caller thread ever spins
+    public Mono<FranchiseEntity> load(String id) {
+        return Mono.defer(() -> {
+            Sinks.One<FranchiseEntity> result = Sinks.one();
+            Sinks.EmitResult emitted;
+            synchronized (emitLock) {
+                emitted = pipeline.sink().tryEmitNext(new PendingLoad(id, result));
+                if (isTerminated(emitted) && !disposed) {
+                    pipeline = start();
+                }
+            }
+            if (emitted.isSuccess()) {
+                return result.asMono();
+            }
+            if (isTerminated(emitted)) {
+                return mongoRepository.findById(id);
+            }
+            return Mono.error(new IllegalStateException("Could not queue franchise lookup " + id + ": " + emitted));
+        });
+    }
+
+    public void dispose() {
+        synchronized (emitLock) {
+            disposed = true;
+            pipeline.subscription().dispose();
+        }
+    }
+
+    // Fair backpressure holds full or timed-out buffers until a batch slot frees up instead of overflowing
+    private Pipeline start() {
+        Sinks.Many<PendingLoad> sink = Sinks.many().unicast().onBackpressureBuffer();
+        Disposable subscription = sink.asFlux()
+                .bufferTimeout(maxBatchSize, window, true)
+                .flatMap(this::loadBatch, maxConcurrentBatches)
+                .subscribe();
+        return new Pipeline(sink, subscription);
+    }
+
+    private static boolean isTerminated(Sinks.EmitResult emitted) {
+        return emitted == Sinks.EmitResult.FAIL_TERMINATED || emitted == Sinks.EmitResult.FAIL_CANCELLED;
+    }
+
+    private Mono<Void> loadBatch(List<PendingLoad> batch) {
+        Set<String> ids = new LinkedHashSet<>();
+        batch.forEach(load -> ids.add(load.id()));
+
+        return Mono.defer(() -> mongoRepository.findAllById(ids)
+                        .collectMap(FranchiseEntity::getId, Function.identity()))
+                .doOnNext(found -> complete(batch, found))
+                .doOnError(error -> batch.forEach(load -> load.result().tryEmitError(error)))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private void complete(List<PendingLoad> batch, Map<String, FranchiseEntity> found) {
+        for (PendingLoad load : batch) {
+            FranchiseEntity entity = found.get(load.id());
+            if (entity == null) {
+                load.result().tryEmitEmpty();
+            } else {
+                load.result().tryEmitValue(entity);
+            }
+        }
+    }
+
+    private record PendingLoad(String id, Sinks.One<FranchiseEntity> result) {
+    }
+
+    private record Pipeline(Sinks.Many<PendingLoad> sink, Disposable subscription) {
+    }
+}
@@ -0,0 +1,82 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePageCursor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.regex.Pattern;
+
+/**
+ * Queries over the franchise document that do not depend on where products are stored.
+ */
+final class FranchiseQueries {
+
+    // Escaping instead of \Q...\E keeps the anchored prefix eligible for index bounds
+    private static final Pattern REGEX_METACHARACTERS = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+    private FranchiseQueries() {
+    }
+
+    static Query byId(String franchiseId) {
+        return Query.query(Criteria.where("id").is(franchiseId));
+    }
+
+    static Query branchQuery(String franchiseId, String branchId) {
+        return Query.query(Criteria.where("id").is(franchiseId).and("branches.id").is(branchId));
+    }
+
+    // Commands typed to the domain model have no entity metadata, so field names and ids are given as stored
+    static Query storedById(String franchiseId) {
+        return Query.query(storedId(franchiseId));
+    }
+
+    static Query storedBranchQuery(String franchiseId, String branchId) {
+        return Query.query(storedId(franchiseId).and("branches._id").is(FranchiseDocumentConverters.toStoredId(branchId)));
+    }
+
+    static Query storedProductQuery(String franchiseId, String branchId, String productId) {
+        return Query.query(storedId(franchiseId).and("branches").elemMatch(Criteria
+                .where("_id").is(FranchiseDocumentConverters.toStoredId(branchId))
+                .and("products._id").is(FranchiseDocumentConverters.toStoredId(productId))));
+    }
+
+    // Matches only while the product's stock is within [minStock, maxStock], so a guarded $inc is a single atomic step
+    static Query storedProductStockQuery(String franchiseId, String branchId, String productId, int minStock, int maxStock) {
+        return Query.query(storedId(franchiseId).and("branches").elemMatch(Criteria
+                .where("_id").is(FranchiseDocumentConverters.toStoredId(branchId))
+                .and("products").elemMatch(Criteria
+                        .where("_id").is(FranchiseDocumentConverters.toStoredId(productId))
+                        .and("stock").gte(minStock).lte(maxStock))));
+    }
+
+    private static Criteria storedId(String franchiseId) {
+        return Criteria.where("_id").is(FranchiseDocumentConverters.toStoredId(franchiseId));
+    }
+
+    // Products are never read for summaries, so the nested arrays are neither transferred nor decoded
+    static Query summaryProjection(Query query, boolean withBranches) {
+        query.fields().include("name");
+        if (withBranches) {
+            query.fields().include("branches.id", "branches.name");
+        }
+        return query;
+    }
+
+    // Keyset pagination over the (name, _id) index: a page never skips, it resumes after the last key seen
+    static Query pageQuery(String namePrefix, FranchisePageCursor after, int limit) {
+        Criteria criteria = new Criteria();
+        if (namePrefix != null && !namePrefix.isEmpty()) {
+            criteria.and("name").regex("^" + REGEX_METACHARACTERS.matcher(namePrefix).replaceAll("\\\\$0"));
+        }
+        if (after != null) {
+            criteria.orOperator(
+                    Criteria.where("name").gt(after.getName()),
+                    Criteria.where("name").is(after.getName()).and("id").gt(after.getId()));
+        }
+        return Query.query(criteria)
+                .with(Sort.by("name", "id"))
+                .limit(limit);
+    }
+}
@@ -1,43 +1,364 @@
 package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb;
 
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ConcurrentUpdateException;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePageCursor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters.BranchWriter;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters.FranchiseWriter;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters.ProductWriter;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.FranchiseEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.jfr.MongoOperationEvent;
 import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.mapper.FranchiseMapper;
 import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.repository.FranchiseMongoRepository;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config.StreamingProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveFindOperation;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.ReplaceOptions;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 @Component
+@Qualifier("franchiseStorage")
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "layout", havingValue = "embedded", matchIfMissing = true)
 @RequiredArgsConstructor
 public class FranchiseRepositoryAdapter implements FranchiseRepositoryPort {
 
+    // Embedded ids are persisted as "_id"; array filters are not run through the query mapper, so their ids are
+    // converted by hand the same way as the stored queries
+    private static final String BRANCH_FILTER_ID = "b._id";
+    private static final String PRODUCT_FILTER_ID = "p._id";
+    private static final String VERSION_FIELD = "version";
+    private static final String COLLECTION = "franchises";
+
     private final FranchiseMongoRepository mongoRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
     private final FranchiseMapper mapper;
+    private final Optional<FranchiseBatchLoader> batchLoader;
+    private final StreamingProperties streamingProperties;
 
+    // Written straight from the domain model, so the version check that @Version would do is done by hand:
+    // the replace only matches the version that was read, and documents written before versioning have none.
     @Override
     public Mono<Franchise> save(Franchise franchise) {
-        return Mono.just(franchise)
-                .map(mapper::toEntity)
-                .flatMap(mongoRepository::save)
-                .map(mapper::toDomain);
+        if (franchise.getId() == null) {
+            Franchise created = new Franchise(new ObjectId().toHexString(), franchise.getName(), 0L, franchise.getBranches());
+            return MongoOperationEvent.recorded("insert", created.getId(),
+                    mongoTemplate.insert(FranchiseWriter.INSTANCE.convert(created), COLLECTION).thenReturn(created));
+        }
+
+        Query unchanged = FranchiseQueries.storedById(franchise.getId());
+        if (franchise.getVersion() == null) {
+            unchanged.addCriteria(Criteria.where(VERSION_FIELD).exists(false));
+        } else {
+            unchanged.addCriteria(Criteria.where(VERSION_FIELD).is(franchise.getVersion()));
+        }
+        long nextVersion = franchise.getVersion() == null ? 1L : franchise.getVersion() + 1;
+        Franchise saved = new Franchise(franchise.getId(), franchise.getName(), nextVersion, franchise.getBranches());
+
+        return MongoOperationEvent.recorded("replace", franchise.getId(),
+                mongoTemplate.replace(unchanged, FranchiseWriter.INSTANCE.convert(saved), ReplaceOptions.none(), COLLECTION)
+                        .flatMap(result -> result.getMatchedCount() == 0
+                                ? Mono.error(new ConcurrentUpdateException(
+                                        "Franchise was modified concurrently: " + franchise.getId()))
+                                : Mono.just(saved)));
     }
 
     @Override
     public Mono<Franchise> findById(String id) {
-        return mongoRepository.findById(id)
-                .map(mapper::toDomain);
+        return MongoOperationEvent.recorded("findById", id,
+                batchLoader.map(loader -> loader.load(id).map(mapper::toDomain))
+                        .orElseGet(() -> read().matching(FranchiseQueries.byId(id)).one()));
     }
 
     @Override
     public Flux<Franchise> findAll() {
-        return mongoRepository.findAll()
-                .map(mapper::toDomain);
+        return MongoOperationEvent.recorded("findAll", null,
+                streamed(read().matching(new Query().cursorBatchSize(cursorBatchSize())).all()));
+    }
+
+    @Override
+    public Mono<FranchiseSummary> findSummaryById(String id, boolean withBranches) {
+        Query query = FranchiseQueries.summaryProjection(Query.query(Criteria.where("id").is(id)), withBranches);
+
+        return MongoOperationEvent.recorded("findSummaryById", id,
+                mongoTemplate.findOne(query, FranchiseEntity.class)
+                        .map(entity -> mapper.toSummary(entity, withBranches)));
+    }
+
+    @Override
+    public Flux<FranchiseSummary> findAllSummaries(boolean withBranches) {
+        Query query = FranchiseQueries.summaryProjection(new Query().cursorBatchSize(cursorBatchSize()), withBranches);
+
+        return streamed(mongoTemplate.find(query, FranchiseEntity.class))
+                .map(entity -> mapper.toSummary(entity, withBranches));
+    }
+
+    // Each branch is its own aggregation result, so the client never holds more than a small batch of branches
+    @Override
+    public Flux<Branch> streamBranches(String franchiseId, boolean withProducts) {
+        List<AggregationOperation> stages = new ArrayList<>(List.of(
+                Aggregation.match(Criteria.where("_id").is(franchiseId)),
+                Aggregation.unwind("branches"),
+                context -> new Document("$replaceRoot", new Document("newRoot", "$branches"))));
+        if (!withProducts) {
+            stages.add(context -> new Document("$project", new Document("products", 0)));
+        }
+        int batchSize = streamingProperties.getBranchBatchSize();
+        Aggregation aggregation = Aggregation.newAggregation(stages)
+                .withOptions(AggregationOptions.builder().cursorBatchSize(batchSize).build());
+
+        return MongoOperationEvent.recorded("streamBranches", franchiseId,
+                mongoTemplate.aggregate(aggregation, FranchiseEntity.class, Branch.class).limitRate(batchSize));
+    }
+
+    @Override
+    public Flux<Franchise> findAllById(Collection<String> ids) {
+        return MongoOperationEvent.recorded("findAllById", null,
+                read().matching(Query.query(Criteria.where("id").in(ids))).all());
+    }
+
+    @Override
+    public Flux<Franchise> findPage(String namePrefix, FranchisePageCursor after, int limit) {
+        return MongoOperationEvent.recorded("findPage", null,
+                read().matching(FranchiseQueries.pageQuery(namePrefix, after, limit)).all());
     }
 
     @Override
     public Mono<Void> deleteById(String id) {
-        return mongoRepository.deleteById(id);
+        return MongoOperationEvent.recorded("deleteById", id, mongoRepository.deleteById(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return MongoOperationEvent.recorded("existsById", id, mongoRepository.existsById(id));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId, Integer stock) {
+        Update update = new Update()
+                .set("branches.$[b].products.$[p].stock", stock);
+        onProduct(update, branchId, productId);
+
+        return findAndModify("updateProductStock", franchiseId,
+                FranchiseQueries.storedProductQuery(franchiseId, branchId, productId), update);
+    }
+
+    // A decrement that would go below zero (or an increment past Integer.MAX_VALUE) matches nothing and writes nothing
+    @Override
+    public Mono<Franchise> adjustProductStock(String franchiseId, String branchId, String productId, int delta) {
+        Update update = new Update().inc("branches.$[b].products.$[p].stock", delta);
+        onProduct(update, branchId, productId);
+
+        return findAndModify("adjustProductStock", franchiseId, FranchiseQueries.storedProductStockQuery(
+                franchiseId, branchId, productId, Math.max(0, -delta), Integer.MAX_VALUE - Math.max(0, delta)), update);
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStocks(String franchiseId, List<StockUpdate> stockUpdates) {
+        return findAndModify("updateProductStocks", franchiseId, FranchiseQueries.storedById(franchiseId),
+                stockUpdate(stockUpdates));
+    }
+
+    // One update per franchise, sent together as a single unordered bulkWrite. Bulk results only count matched
+    // documents, so which products were written is read back from an id-only projection of the same franchises.
+    @Override
+    public Flux<StockUpdateResult> bulkUpdateProductStocks(List<FranchiseStockUpdate> updates) {
+        if (updates.isEmpty()) {
+            return Flux.empty();
+        }
+        Map<String, List<StockUpdate>> byFranchise = FranchiseStockUpdate.byFranchise(updates);
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, COLLECTION);
+        List<Object> storedIds = new ArrayList<>(byFranchise.size());
+        byFranchise.forEach((franchiseId, stockUpdates) -> {
+            bulk.updateOne(FranchiseQueries.storedById(franchiseId), stockUpdate(stockUpdates).inc(VERSION_FIELD, 1));
+            storedIds.add(FranchiseDocumentConverters.toStoredId(franchiseId));
+        });
+        Query written = Query.query(Criteria.where("_id").in(storedIds));
+        written.fields().include("branches._id", "branches.products._id");
+
+        return MongoOperationEvent.recorded("bulkUpdateProductStocks", null, bulk.execute()
+                .thenMany(mongoTemplate.find(written, Franchise.class, COLLECTION))
+                .collectMap(Franchise::getId)
+                .flatMapIterable(found -> StockUpdateResult.against(updates, found)));
+    }
+
+    @Override
+    public Mono<Franchise> addBranch(String franchiseId, Branch branch) {
+        Update update = new Update().push("branches", BranchWriter.INSTANCE.convert(branch));
+
+        return findAndModify("addBranch", franchiseId, FranchiseQueries.storedById(franchiseId), update);
+    }
+
+    @Override
+    public Mono<Franchise> addProduct(String franchiseId, String branchId, Product product) {
+        Update update = new Update().push("branches.$.products", ProductWriter.INSTANCE.convert(product));
+
+        return findAndModify("addProduct", franchiseId,
+                FranchiseQueries.storedBranchQuery(franchiseId, branchId), update);
+    }
+
+    @Override
+    public Mono<Franchise> removeProduct(String franchiseId, String branchId, String productId) {
+        Update update = new Update().pull("branches.$.products", Query.query(Criteria.where("_id").is(FranchiseDocumentConverters.toStoredId(productId))));
+
+        return findAndModify("removeProduct", franchiseId,
+                FranchiseQueries.storedProductQuery(franchiseId, branchId, productId), update);
+    }
+
+    @Override
+    public Mono<Franchise> updateFranchiseName(String franchiseId, String name) {
+        Update update = new Update().set("name", name);
+
+        return findAndModify("updateFranchiseName", franchiseId, FranchiseQueries.storedById(franchiseId), update);
+    }
+
+    @Override
+    public Mono<Franchise> updateBranchName(String franchiseId, String branchId, String name) {
+        Update update = new Update().set("branches.$.name", name);
+
+        return findAndModify("updateBranchName", franchiseId,
+                FranchiseQueries.storedBranchQuery(franchiseId, branchId), update);
+    }
+
+    @Override
+    public Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId, String name) {
+        Update update = new Update()
+                .set("branches.$[b].products.$[p].name", name);
+        onProduct(update, branchId, productId);
+
+        return findAndModify("updateProductName", franchiseId,
+                FranchiseQueries.storedProductQuery(franchiseId, branchId, productId), update);
+    }
+
+    // Bounded selection per branch: $reduce keeps a stock-descending array of at most `limit` products.
+    // A product only displaces others on a strictly greater stock, so ties keep the earlier product.
+    @Override
+    public Flux<TopProduct> findTopProductsByBranch(String franchiseId, int limit) {
+        Document insertInRankOrder = new Document("$slice", List.of(
+                new Document("$concatArrays", List.of(
+                        rankFilter("$gte"),
+                        List.of("$$this"),
+                        rankFilter("$lt"))),
+                limit));
+        Document topProducts = new Document("$reduce", new Document("input", "$branches.products")
+                .append("initialValue", List.of())
+                .append("in", new Document("$cond", List.of(
+                        new Document("$or", List.of(
+                                new Document("$lt", List.of(new Document("$size", "$$value"), limit)),
+                                new Document("$gt", List.of(
+                                        "$$this.stock",
+                                        new Document("$arrayElemAt", List.of("$$value.stock", -1)))))),
+                        insertInRankOrder,
+                        "$$value"))));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("_id").is(franchiseId)),
+                Aggregation.unwind("branches"),
+                context -> new Document("$project", new Document("_id", 0)
+                        .append("branchId", "$branches._id")
+                        .append("branchName", "$branches.name")
+                        .append("top", topProducts)),
+                context -> new Document("$unwind", "$top"))
+                .withOptions(AggregationOptions.builder().cursorBatchSize(cursorBatchSize()).build());
+
+        return MongoOperationEvent.recorded("findTopProductsByBranch", franchiseId,
+                streamed(mongoTemplate.aggregate(aggregation, FranchiseEntity.class, Document.class))
+                        .map(this::toTopProduct));
+    }
+
+    private Document rankFilter(String stockComparison) {
+        return new Document("$filter", new Document("input", "$$value")
+                .append("as", "ranked")
+                .append("cond", new Document(stockComparison, List.of("$$ranked.stock", "$$this.stock"))));
+    }
+
+    private TopProduct toTopProduct(Document row) {
+        Document product = row.get("top", Document.class);
+        return TopProduct.builder()
+                .branchId(FranchiseDocumentConverters.readId(row.get("branchId")))
+                .branchName(row.getString("branchName"))
+                .productId(FranchiseDocumentConverters.readId(product.get("_id")))
+                .productName(product.getString("name"))
+                .stock(product.getInteger("stock"))
+                .build();
+    }
+
+    // Replenish demand one cursor batch at a time, so an unbounded subscriber never pulls more than a getMore ahead
+    private <T> Flux<T> streamed(Flux<T> cursor) {
+        return cursor.limitRate(cursorBatchSize());
+    }
+
+    private int cursorBatchSize() {
+        return streamingProperties.getCursorBatchSize();
+    }
+
+    // Queries are mapped against the entity; results are decoded by the domain converters
+    private ReactiveFindOperation.FindWithQuery<Franchise> read() {
+        return mongoTemplate.query(FranchiseEntity.class).as(Franchise.class);
+    }
+
+    // One $set per product, each with its own array filter identifiers; filters that match nothing leave the
+    // document as it is, so missing products are skipped instead of failing the whole update
+    private Update stockUpdate(List<StockUpdate> stockUpdates) {
+        List<StockUpdate> updates = StockUpdate.lastPerProduct(stockUpdates);
+        Update update = new Update();
+        Map<String, String> branchFilters = new HashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            StockUpdate stockUpdate = updates.get(i);
+            String branchFilter = branchFilters.get(stockUpdate.getBranchId());
+            if (branchFilter == null) {
+                branchFilter = "b" + branchFilters.size();
+                branchFilters.put(stockUpdate.getBranchId(), branchFilter);
+                update.filterArray(Criteria.where(branchFilter + "._id")
+                        .is(FranchiseDocumentConverters.toStoredId(stockUpdate.getBranchId())));
+            }
+            String productFilter = "p" + i;
+            update.set("branches.$[" + branchFilter + "].products.$[" + productFilter + "].stock", stockUpdate.getStock())
+                    .filterArray(Criteria.where(productFilter + "._id")
+                            .is(FranchiseDocumentConverters.toStoredId(stockUpdate.getProductId())));
+        }
+        return update;
+    }
+
+    private static void onProduct(Update update, String branchId, String productId) {
+        update.filterArray(Criteria.where(BRANCH_FILTER_ID).is(FranchiseDocumentConverters.toStoredId(branchId)))
+                .filterArray(Criteria.where(PRODUCT_FILTER_ID).is(FranchiseDocumentConverters.toStoredId(productId)));
+    }
+
+    private Mono<Franchise> findAndModify(String operation, String franchiseId, Query query, Update update) {
+        update.inc(VERSION_FIELD, 1);
+        return MongoOperationEvent.recorded(operation, franchiseId, mongoTemplate.findAndModify(
+                query, update, FindAndModifyOptions.options().returnNew(true), Franchise.class, COLLECTION));
     }
 }
@@ -0,0 +1,20 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ordering key for split-layout products: time-ordered across instances and strictly increasing within one,
+ * so a branch lists its products in insertion order and ties in rankings keep the earlier product.
+ */
+final class ProductSequence {
+
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private ProductSequence() {
+    }
+
+    static long next() {
+        long now = System.currentTimeMillis() * 1_000;
+        return LAST.accumulateAndGet(now, (last, candidate) -> Math.max(last + 1, candidate));
+    }
+}
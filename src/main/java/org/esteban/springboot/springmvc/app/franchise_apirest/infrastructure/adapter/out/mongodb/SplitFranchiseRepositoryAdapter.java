@@ -0,0 +1,390 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ConcurrentUpdateException;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePageCursor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.BranchEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.FranchiseEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.ProductRecordEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.jfr.MongoOperationEvent;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.mapper.FranchiseMapper;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config.StreamingProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Persistence layout that keeps franchises and branches in {@code franchises} and every product in its own
+ * {@code products} document, so product writes touch one small document instead of the whole aggregate.
+ * <p>
+ * Product fields are owned by the targeted product operations: {@link #save} inserts products it has not
+ * seen and drops the ones removed from the aggregate, but never overwrites an existing product, so a stale
+ * aggregate cannot undo a concurrent stock change. Writes span two collections without a transaction; every
+ * product write also bumps the franchise version so read-modify-write use cases still detect the conflict.
+ */
+@Component
+@Qualifier("franchiseStorage")
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "layout", havingValue = "split")
+@RequiredArgsConstructor
+public class SplitFranchiseRepositoryAdapter implements FranchiseRepositoryPort {
+
+    private static final String VERSION_FIELD = "version";
+    private static final String FRANCHISE_ID = "franchiseId";
+    private static final String BRANCH_ID = "branchId";
+    private static final String SEQ = "seq";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final FranchiseMapper mapper;
+    private final StreamingProperties streamingProperties;
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return MongoOperationEvent.recorded(franchise.getId() == null ? "insert" : "replace", franchise.getId(),
+                Mono.fromCallable(() -> withoutProducts(mapper.toEntity(franchise)))
+                        .flatMap(mongoTemplate::save)
+                        .onErrorMap(OptimisticLockingFailureException.class, e -> new ConcurrentUpdateException(
+                                "Franchise was modified concurrently: " + franchise.getId(), e))
+                        .flatMap(saved -> syncProducts(saved.getId(), franchise).then(assemble(saved))));
+    }
+
+    @Override
+    public Mono<Franchise> findById(String id) {
+        return MongoOperationEvent.recorded("findById", id, mongoTemplate.findById(id, FranchiseEntity.class)
+                .flatMap(this::assemble));
+    }
+
+    @Override
+    public Flux<Franchise> findAll() {
+        return MongoOperationEvent.recorded("findAll", null,
+                mongoTemplate.find(new Query().cursorBatchSize(cursorBatchSize()), FranchiseEntity.class)
+                        .limitRate(cursorBatchSize())
+                        .concatMap(this::assemble));
+    }
+
+    @Override
+    public Mono<FranchiseSummary> findSummaryById(String id, boolean withBranches) {
+        Query query = FranchiseQueries.summaryProjection(FranchiseQueries.byId(id), withBranches);
+
+        return MongoOperationEvent.recorded("findSummaryById", id, mongoTemplate.findOne(query, FranchiseEntity.class)
+                .map(entity -> mapper.toSummary(entity, withBranches)));
+    }
+
+    @Override
+    public Flux<FranchiseSummary> findAllSummaries(boolean withBranches) {
+        Query query = FranchiseQueries.summaryProjection(new Query().cursorBatchSize(cursorBatchSize()), withBranches);
+
+        return MongoOperationEvent.recorded("findAllSummaries", null, mongoTemplate.find(query, FranchiseEntity.class)
+                .limitRate(cursorBatchSize())
+                .map(entity -> mapper.toSummary(entity, withBranches)));
+    }
+
+    @Override
+    public Flux<Branch> streamBranches(String franchiseId, boolean withProducts) {
+        Query query = FranchiseQueries.summaryProjection(FranchiseQueries.byId(franchiseId), true);
+
+        Flux<Branch> branches = mongoTemplate.findOne(query, FranchiseEntity.class)
+                .flatMapIterable(FranchiseEntity::getBranches)
+                .concatMap(entity -> {
+                    Branch branch = Branch.builder().id(entity.getId()).name(entity.getName()).build();
+                    if (!withProducts) {
+                        return Mono.just(branch);
+                    }
+                    return productsOf(franchiseId, entity.getId())
+                            .map(mapper::toProductDomain)
+                            .collectList()
+                            .map(products -> {
+                                branch.setProducts(products);
+                                return branch;
+                            });
+                });
+        return MongoOperationEvent.recorded("streamBranches", franchiseId, branches);
+    }
+
+    @Override
+    public Flux<Franchise> findAllById(Collection<String> ids) {
+        return MongoOperationEvent.recorded("findAllById", null,
+                mongoTemplate.find(Query.query(Criteria.where("id").in(ids)), FranchiseEntity.class)
+                        .concatMap(this::assemble));
+    }
+
+    @Override
+    public Flux<Franchise> findPage(String namePrefix, FranchisePageCursor after, int limit) {
+        return MongoOperationEvent.recorded("findPage", null,
+                mongoTemplate.find(FranchiseQueries.pageQuery(namePrefix, after, limit), FranchiseEntity.class)
+                        .concatMap(this::assemble));
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return MongoOperationEvent.recorded("deleteById", id,
+                mongoTemplate.remove(FranchiseQueries.byId(id), FranchiseEntity.class)
+                        .then(mongoTemplate.remove(Query.query(Criteria.where(FRANCHISE_ID).is(id)), ProductRecordEntity.class))
+                        .then());
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return MongoOperationEvent.recorded("existsById", id,
+                mongoTemplate.exists(FranchiseQueries.byId(id), FranchiseEntity.class));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductStock(String franchiseId, String branchId, String productId, Integer stock) {
+        return updateProduct("updateProductStock", franchiseId, branchId, productId, new Update().set("stock", stock));
+    }
+
+    @Override
+    public Mono<Franchise> adjustProductStock(String franchiseId, String branchId, String productId, int delta) {
+        Query query = productQuery(franchiseId, branchId, productId).addCriteria(Criteria.where("stock")
+                .gte(Math.max(0, -delta))
+                .lte(Integer.MAX_VALUE - Math.max(0, delta)));
+
+        return updateProduct("adjustProductStock", franchiseId, query, new Update().inc("stock", delta));
+    }
+
+    // Each product is its own document, so the batch is one unordered bulk write plus a single version bump
+    @Override
+    public Mono<Franchise> updateProductStocks(String franchiseId, List<StockUpdate> updates) {
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, ProductRecordEntity.class);
+        for (StockUpdate update : StockUpdate.lastPerProduct(updates)) {
+            bulk.updateOne(productQuery(franchiseId, update.getBranchId(), update.getProductId()),
+                    new Update().set("stock", update.getStock()));
+        }
+        Mono<Void> writes = updates.isEmpty() ? Mono.empty() : bulk.execute().then();
+
+        return MongoOperationEvent.recorded("updateProductStocks", franchiseId, writes
+                .then(bumpVersion(FranchiseQueries.byId(franchiseId), new Update()))
+                .flatMap(this::assemble));
+    }
+
+    // Products of every franchise go out in one unordered bulk write, then each touched franchise gets its version
+    // bump. Bulk results only count matches, so the products that exist are read back by id to report each update.
+    @Override
+    public Flux<StockUpdateResult> bulkUpdateProductStocks(List<FranchiseStockUpdate> updates) {
+        if (updates.isEmpty()) {
+            return Flux.empty();
+        }
+        Map<String, List<StockUpdate>> byFranchise = FranchiseStockUpdate.byFranchise(updates);
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, ProductRecordEntity.class);
+        byFranchise.forEach((franchiseId, stockUpdates) -> {
+            for (StockUpdate update : StockUpdate.lastPerProduct(stockUpdates)) {
+                bulk.updateOne(productQuery(franchiseId, update.getBranchId(), update.getProductId()),
+                        new Update().set("stock", update.getStock()));
+            }
+        });
+        List<String> productIds = updates.stream().map(FranchiseStockUpdate::getProductId).distinct().toList();
+        Query written = Query.query(Criteria.where("id").in(productIds));
+        written.fields().include(FRANCHISE_ID, BRANCH_ID);
+
+        return MongoOperationEvent.recorded("bulkUpdateProductStocks", null, bulk.execute()
+                .then(mongoTemplate.updateMulti(Query.query(Criteria.where("id").in(byFranchise.keySet())),
+                        new Update().inc(VERSION_FIELD, 1), FranchiseEntity.class))
+                .thenMany(mongoTemplate.find(written, ProductRecordEntity.class))
+                .map(product -> productKey(product.getFranchiseId(), product.getBranchId(), product.getId()))
+                .collect(Collectors.toSet())
+                .flatMapIterable(found -> updates.stream()
+                        .map(update -> found.contains(productKey(update.getFranchiseId(), update.getBranchId(), update.getProductId()))
+                                ? StockUpdateResult.ok(update)
+                                : StockUpdateResult.notFound(update))
+                        .toList()));
+    }
+
+    @Override
+    public Mono<Franchise> addBranch(String franchiseId, Branch branch) {
+        BranchEntity entity = mapper.toBranchEntity(branch);
+        entity.setProducts(new ArrayList<>());
+
+        return MongoOperationEvent.recorded("addBranch", franchiseId,
+                bumpVersion(FranchiseQueries.byId(franchiseId), new Update().push("branches", entity))
+                        .flatMap(franchise -> insertProducts(franchiseId, branch.getId(), branch.getProducts())
+                                .then(assemble(franchise))));
+    }
+
+    @Override
+    public Mono<Franchise> addProduct(String franchiseId, String branchId, Product product) {
+        return MongoOperationEvent.recorded("addProduct", franchiseId,
+                bumpVersion(FranchiseQueries.branchQuery(franchiseId, branchId), new Update())
+                        .flatMap(franchise -> insertProducts(franchiseId, branchId, List.of(product))
+                                .then(assemble(franchise))));
+    }
+
+    @Override
+    public Mono<Franchise> removeProduct(String franchiseId, String branchId, String productId) {
+        return MongoOperationEvent.recorded("removeProduct", franchiseId,
+                mongoTemplate.remove(productQuery(franchiseId, branchId, productId), ProductRecordEntity.class)
+                        .filter(result -> result.getDeletedCount() > 0)
+                        .flatMap(result -> bumpVersion(FranchiseQueries.byId(franchiseId), new Update()))
+                        .flatMap(this::assemble));
+    }
+
+    @Override
+    public Mono<Franchise> updateFranchiseName(String franchiseId, String name) {
+        return MongoOperationEvent.recorded("updateFranchiseName", franchiseId,
+                bumpVersion(FranchiseQueries.byId(franchiseId), new Update().set("name", name))
+                        .flatMap(this::assemble));
+    }
+
+    @Override
+    public Mono<Franchise> updateBranchName(String franchiseId, String branchId, String name) {
+        return MongoOperationEvent.recorded("updateBranchName", franchiseId,
+                bumpVersion(FranchiseQueries.branchQuery(franchiseId, branchId), new Update().set("branches.$.name", name))
+                        .flatMap(this::assemble));
+    }
+
+    @Override
+    public Mono<Franchise> updateProductName(String franchiseId, String branchId, String productId, String name) {
+        return updateProduct("updateProductName", franchiseId, branchId, productId, new Update().set("name", name));
+    }
+
+    // $topN per branch on the products collection, then laid out in the franchise's branch order.
+    // Sorting by seq after stock keeps the earlier product on ties, like the embedded layout.
+    @Override
+    public Flux<TopProduct> findTopProductsByBranch(String franchiseId, int limit) {
+        Document topProducts = new Document("$topN", new Document("n", limit)
+                .append("sortBy", new Document("stock", -1).append(SEQ, 1))
+                .append("output", new Document("_id", "$_id").append("name", "$name").append("stock", "$stock")));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(FRANCHISE_ID).is(franchiseId)),
+                context -> new Document("$group", new Document("_id", "$" + BRANCH_ID).append("top", topProducts)));
+
+        Mono<Map<String, List<Document>>> topByBranch = mongoTemplate
+                .aggregate(aggregation, ProductRecordEntity.class, Document.class)
+                .collectMap(row -> FranchiseDocumentConverters.readId(row.get("_id")),
+                        row -> row.getList("top", Document.class));
+        Query branchesQuery = FranchiseQueries.summaryProjection(FranchiseQueries.byId(franchiseId), true);
+        Mono<FranchiseSummary> branches = mongoTemplate.findOne(branchesQuery, FranchiseEntity.class)
+                .map(entity -> mapper.toSummary(entity, true));
+
+        return MongoOperationEvent.recorded("findTopProductsByBranch", franchiseId, branches
+                .zipWith(topByBranch)
+                .flatMapIterable(tuple -> tuple.getT1().getBranches().stream()
+                        .flatMap(branch -> tuple.getT2().getOrDefault(branch.getId(), List.of()).stream()
+                                .map(product -> TopProduct.builder()
+                                        .branchId(branch.getId())
+                                        .branchName(branch.getName())
+                                        .productId(FranchiseDocumentConverters.readId(product.get("_id")))
+                                        .productName(product.getString("name"))
+                                        .stock(product.getInteger("stock"))
+                                        .build()))
+                        .toList()));
+    }
+
+    private Mono<Franchise> updateProduct(String operation, String franchiseId, String branchId, String productId,
+                                          Update update) {
+        return updateProduct(operation, franchiseId, productQuery(franchiseId, branchId, productId), update);
+    }
+
+    private Mono<Franchise> updateProduct(String operation, String franchiseId, Query productQuery, Update update) {
+        return MongoOperationEvent.recorded(operation, franchiseId,
+                mongoTemplate.updateFirst(productQuery, update, ProductRecordEntity.class)
+                        .filter(result -> result.getMatchedCount() > 0)
+                        .flatMap(result -> bumpVersion(FranchiseQueries.byId(franchiseId), new Update()))
+                        .flatMap(this::assemble));
+    }
+
+    private Mono<FranchiseEntity> bumpVersion(Query query, Update update) {
+        update.inc(VERSION_FIELD, 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), FranchiseEntity.class);
+    }
+
+    private Mono<Franchise> assemble(FranchiseEntity entity) {
+        Query query = Query.query(Criteria.where(FRANCHISE_ID).is(entity.getId()))
+                .with(Sort.by(BRANCH_ID, SEQ))
+                .cursorBatchSize(cursorBatchSize());
+
+        return mongoTemplate.find(query, ProductRecordEntity.class)
+                .collectMultimap(ProductRecordEntity::getBranchId)
+                .map(productsByBranch -> {
+                    Franchise franchise = mapper.toDomain(entity);
+                    for (Branch branch : franchise.getBranches()) {
+                        branch.setProducts(productsByBranch.getOrDefault(branch.getId(), List.of()).stream()
+                                .map(mapper::toProductDomain)
+                                .collect(Collectors.toList()));
+                    }
+                    return franchise;
+                });
+    }
+
+    private Flux<ProductRecordEntity> productsOf(String franchiseId, String branchId) {
+        Query query = Query.query(Criteria.where(FRANCHISE_ID).is(franchiseId).and(BRANCH_ID).is(branchId))
+                .with(Sort.by(SEQ));
+        return mongoTemplate.find(query, ProductRecordEntity.class);
+    }
+
+    private Mono<Void> insertProducts(String franchiseId, String branchId, List<Product> products) {
+        if (products.isEmpty()) {
+            return Mono.empty();
+        }
+        List<ProductRecordEntity> records = products.stream()
+                .map(product -> mapper.toProductRecord(franchiseId, branchId, product, ProductSequence.next()))
+                .toList();
+        return mongoTemplate.insertAll(records).then();
+    }
+
+    private Mono<Void> syncProducts(String franchiseId, Franchise franchise) {
+        List<String> productIds = new ArrayList<>();
+        ReactiveBulkOperations inserts = mongoTemplate.bulkOps(BulkMode.UNORDERED, ProductRecordEntity.class);
+        for (Branch branch : franchise.getBranches()) {
+            for (Product product : branch.getProducts()) {
+                productIds.add(product.getId());
+                inserts.upsert(Query.query(Criteria.where("id").is(product.getId())), new Update()
+                        .setOnInsert(FRANCHISE_ID, franchiseId)
+                        .setOnInsert(BRANCH_ID, branch.getId())
+                        .setOnInsert("name", product.getName())
+                        .setOnInsert("stock", product.getStock())
+                        .setOnInsert(SEQ, ProductSequence.next()));
+            }
+        }
+        Mono<Void> removeDropped = mongoTemplate.remove(
+                Query.query(Criteria.where(FRANCHISE_ID).is(franchiseId).and("id").nin(productIds)),
+                ProductRecordEntity.class).then();
+
+        return productIds.isEmpty() ? removeDropped : inserts.execute().then(removeDropped);
+    }
+
+    private static String productKey(String franchiseId, String branchId, String productId) {
+        return franchiseId + '/' + branchId + '/' + productId;
+    }
+
+    private Query productQuery(String franchiseId, String branchId, String productId) {
+        return Query.query(Criteria.where("id").is(productId).and(FRANCHISE_ID).is(franchiseId).and(BRANCH_ID).is(branchId));
+    }
+
+    private FranchiseEntity withoutProducts(FranchiseEntity entity) {
+        entity.getBranches().forEach(branch -> branch.setProducts(new ArrayList<>()));
+        return entity;
+    }
+
+    private int cursorBatchSize() {
+        return streamingProperties.getCursorBatchSize();
+    }
+}
@@ -0,0 +1,93 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.BranchEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.FranchiseEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.ProductEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.ProductRecordEntity;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-shot move from the embedded layout to the split layout, run at startup with
+ * {@code franchise.migration.split-products=true} before switching {@code franchise.persistence.layout}.
+ * <p>
+ * Each franchise is migrated on its own: products are upserted into {@code products} first, then the embedded
+ * arrays are cleared only if the document still has the version that was read. A franchise written in between
+ * keeps its embedded products and is picked up by the next run, which overwrites the copied records.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "franchise.migration", name = "split-products", havingValue = "true")
+@RequiredArgsConstructor
+public class SplitProductsMigration implements ApplicationRunner {
+
+    private static final int FRANCHISE_BATCH_SIZE = 16;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long migrated = migrate().block();
+        log.info("Moved embedded products of {} franchises into the products collection", migrated);
+    }
+
+    public Mono<Long> migrate() {
+        Query pending = Query.query(Criteria.where("branches.products.0").exists(true))
+                .cursorBatchSize(FRANCHISE_BATCH_SIZE);
+
+        return mongoTemplate.find(pending, FranchiseEntity.class)
+                .limitRate(FRANCHISE_BATCH_SIZE)
+                .concatMap(this::migrate)
+                .count();
+    }
+
+    private Mono<FranchiseEntity> migrate(FranchiseEntity franchise) {
+        ReactiveBulkOperations upserts = mongoTemplate.bulkOps(BulkMode.UNORDERED, ProductRecordEntity.class);
+        List<BranchEntity> branches = new ArrayList<>();
+        for (BranchEntity branch : franchise.getBranches()) {
+            for (ProductEntity product : branch.getProducts()) {
+                upserts.upsert(Query.query(Criteria.where("id").is(product.getId())), new Update()
+                        .set("franchiseId", franchise.getId())
+                        .set("branchId", branch.getId())
+                        .set("name", product.getName())
+                        .set("stock", product.getStock())
+                        .setOnInsert("seq", ProductSequence.next()));
+            }
+            branches.add(BranchEntity.builder().id(branch.getId()).name(branch.getName()).build());
+        }
+
+        Criteria unchanged = Criteria.where("id").is(franchise.getId());
+        Update clear = new Update().set("branches", branches);
+        if (franchise.getVersion() == null) {
+            unchanged.and("version").exists(false);
+            clear.set("version", 1L);
+        } else {
+            unchanged.and("version").is(franchise.getVersion());
+            clear.inc("version", 1);
+        }
+
+        return upserts.execute()
+                .then(mongoTemplate.updateFirst(Query.query(unchanged), clear, FranchiseEntity.class))
+                .flatMap(result -> {
+                    if (result.getModifiedCount() == 0) {
+                        log.warn("Franchise {} changed during migration; run the migration again", franchise.getId());
+                        return Mono.empty();
+                    }
+                    return Mono.just(franchise);
+                });
+    }
+}
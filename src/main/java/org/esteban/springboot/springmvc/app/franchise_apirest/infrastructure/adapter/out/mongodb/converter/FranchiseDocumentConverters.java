@@ -0,0 +1,156 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.jfr.ConversionEvent;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes franchise documents straight into the domain model and encodes the domain straight back, skipping the
+ * entity classes and the reflective mapping pass. The stored shape is the one Spring Data writes for
+ * {@code FranchiseEntity}: ids under {@code _id}, ObjectId-shaped ids as {@link ObjectId}.
+ */
+public final class FranchiseDocumentConverters {
+
+    private static final String ID = "_id";
+    private static final String NAME = "name";
+    private static final String VERSION = "version";
+    private static final String BRANCHES = "branches";
+    private static final String PRODUCTS = "products";
+    private static final String STOCK = "stock";
+
+    private FranchiseDocumentConverters() {
+    }
+
+    public static List<Converter<?, ?>> all() {
+        return List.of(
+                FranchiseReader.INSTANCE,
+                FranchiseWriter.INSTANCE,
+                BranchReader.INSTANCE,
+                BranchWriter.INSTANCE,
+                ProductWriter.INSTANCE);
+    }
+
+    // Same rule as Spring Data's id conversion, so documents written either way stay interchangeable
+    public static Object toStoredId(String id) {
+        return id != null && ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    public static String readId(Object id) {
+        if (id instanceof ObjectId objectId) {
+            return objectId.toHexString();
+        }
+        return id == null ? null : id.toString();
+    }
+
+    @ReadingConverter
+    public enum FranchiseReader implements Converter<Document, Franchise> {
+        INSTANCE;
+
+        @Override
+        public Franchise convert(Document source) {
+            ConversionEvent event = new ConversionEvent();
+            event.begin();
+            Number version = source.get(VERSION, Number.class);
+            Franchise franchise = new Franchise(
+                    readId(source.get(ID)),
+                    source.getString(NAME),
+                    version == null ? null : version.longValue(),
+                    readBranches(source.getList(BRANCHES, Document.class)));
+            event.complete(ConversionEvent.CONVERTER, ConversionEvent.READ, franchise);
+            return franchise;
+        }
+
+        private static List<Branch> readBranches(List<Document> documents) {
+            if (documents == null) {
+                return new ArrayList<>();
+            }
+            List<Branch> branches = new ArrayList<>(documents.size());
+            for (Document document : documents) {
+                branches.add(BranchReader.INSTANCE.convert(document));
+            }
+            return branches;
+        }
+    }
+
+    @ReadingConverter
+    public enum BranchReader implements Converter<Document, Branch> {
+        INSTANCE;
+
+        @Override
+        public Branch convert(Document source) {
+            List<Document> documents = source.getList(PRODUCTS, Document.class);
+            List<Product> products = new ArrayList<>(documents == null ? 0 : documents.size());
+            if (documents != null) {
+                for (Document document : documents) {
+                    Number stock = document.get(STOCK, Number.class);
+                    products.add(new Product(
+                            readId(document.get(ID)),
+                            document.getString(NAME),
+                            stock == null ? null : stock.intValue()));
+                }
+            }
+            return new Branch(readId(source.get(ID)), source.getString(NAME), products);
+        }
+    }
+
+    @WritingConverter
+    public enum FranchiseWriter implements Converter<Franchise, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Franchise source) {
+            ConversionEvent event = new ConversionEvent();
+            event.begin();
+            List<Document> branches = new ArrayList<>(source.getBranches().size());
+            for (Branch branch : source.getBranches()) {
+                branches.add(BranchWriter.INSTANCE.convert(branch));
+            }
+            Document document = new Document();
+            if (source.getId() != null) {
+                document.put(ID, toStoredId(source.getId()));
+            }
+            document.put(NAME, source.getName());
+            document.put(VERSION, source.getVersion());
+            document.put(BRANCHES, branches);
+            event.complete(ConversionEvent.CONVERTER, ConversionEvent.WRITE, source);
+            return document;
+        }
+    }
+
+    @WritingConverter
+    public enum BranchWriter implements Converter<Branch, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Branch source) {
+            List<Document> products = new ArrayList<>(source.getProducts().size());
+            for (Product product : source.getProducts()) {
+                products.add(ProductWriter.INSTANCE.convert(product));
+            }
+            return new Document(ID, toStoredId(source.getId()))
+                    .append(NAME, source.getName())
+                    .append(PRODUCTS, products);
+        }
+    }
+
+    @WritingConverter
+    public enum ProductWriter implements Converter<Product, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Product source) {
+            return new Document(ID, toStoredId(source.getId()))
+                    .append(NAME, source.getName())
+                    .append(STOCK, source.getStock());
+        }
+    }
+}
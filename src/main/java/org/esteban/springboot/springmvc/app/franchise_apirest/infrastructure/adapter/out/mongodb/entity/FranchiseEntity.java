@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
@@ -15,11 +17,15 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "franchises")
+@CompoundIndex(name = "name_id", def = "{'name': 1, '_id': 1}")
 public class FranchiseEntity {
     @Id
     private String id;
     private String name;
 
+    @Version
+    private Long version;
+
     @Builder.Default
     private List<BranchEntity> branches = new ArrayList<>();
 }
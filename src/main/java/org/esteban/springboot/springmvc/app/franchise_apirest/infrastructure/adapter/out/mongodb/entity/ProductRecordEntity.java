@@ -0,0 +1,28 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A product stored in its own document by the split persistence layout. {@code seq} keeps insertion order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "products")
+@CompoundIndex(name = "franchise_branch_seq", def = "{'franchiseId': 1, 'branchId': 1, 'seq': 1}")
+public class ProductRecordEntity {
+    @Id
+    private String id;
+    private String franchiseId;
+    private String branchId;
+    private String name;
+    private Integer stock;
+    private Long seq;
+}
@@ -0,0 +1,57 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+
+/**
+ * Flight Recorder event for one franchise converted between its stored and domain forms, either by the BSON
+ * converters or by the entity mapper. Conversions are synchronous, so this is CPU time on the calling thread.
+ */
+@Name("franchise.Conversion")
+@Label("Franchise Conversion")
+@Category({"Franchise API", "Persistence"})
+@Description("Franchise serialization or mapping slower than the threshold")
+@StackTrace(false)
+@Threshold("5 ms")
+public class ConversionEvent extends Event {
+
+    public static final String CONVERTER = "converter";
+    public static final String MAPPER = "mapper";
+    public static final String READ = "read";
+    public static final String WRITE = "write";
+
+    @Label("Converter")
+    String converter;
+
+    @Label("Direction")
+    String direction;
+
+    @Label("Franchise Id")
+    String franchiseId;
+
+    @Label("Branches")
+    int branches;
+
+    @Label("Products")
+    int products;
+
+    public void complete(String converter, String direction, Franchise franchise) {
+        end();
+        if (shouldCommit()) {
+            this.converter = converter;
+            this.direction = direction;
+            if (franchise != null) {
+                this.franchiseId = franchise.getId();
+                this.branches = franchise.getBranches().size();
+                this.products = franchise.countProducts();
+            }
+            commit();
+        }
+    }
+}
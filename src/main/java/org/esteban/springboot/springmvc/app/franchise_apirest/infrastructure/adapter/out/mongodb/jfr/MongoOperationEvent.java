@@ -0,0 +1,99 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Flight Recorder event for a storage call that ran past its threshold: the round trip to MongoDB plus decoding of
+ * the results, from subscription to terminal signal. Decoding on its own shows up as {@link ConversionEvent}s.
+ */
+@Name("franchise.MongoOperation")
+@Label("Franchise Mongo Operation")
+@Category({"Franchise API", "Persistence"})
+@Description("Storage call slower than the threshold")
+@StackTrace(false)
+@Threshold("20 ms")
+public class MongoOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Franchise Id")
+    String franchiseId;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Documents")
+    int documents;
+
+    @Label("Branches")
+    int branches;
+
+    @Label("Products")
+    int products;
+
+    private MongoOperationEvent(String operation, String franchiseId) {
+        this.operation = operation;
+        this.franchiseId = franchiseId;
+    }
+
+    public static <T> Mono<T> recorded(String operation, String franchiseId, Mono<T> call) {
+        return Mono.defer(() -> {
+            MongoOperationEvent event = begin(operation, franchiseId);
+            if (event == null) {
+                return call;
+            }
+            return call.doOnNext(event::emitted)
+                    .doOnSuccess(value -> event.complete("success"))
+                    .doOnError(error -> event.complete("error"))
+                    .doOnCancel(() -> event.complete("cancelled"));
+        });
+    }
+
+    public static <T> Flux<T> recorded(String operation, String franchiseId, Flux<T> call) {
+        return Flux.defer(() -> {
+            MongoOperationEvent event = begin(operation, franchiseId);
+            if (event == null) {
+                return call;
+            }
+            return call.doOnNext(event::emitted)
+                    .doOnComplete(() -> event.complete("success"))
+                    .doOnError(error -> event.complete("error"))
+                    .doOnCancel(() -> event.complete("cancelled"));
+        });
+    }
+
+    private static MongoOperationEvent begin(String operation, String franchiseId) {
+        MongoOperationEvent event = new MongoOperationEvent(operation, franchiseId);
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    private void emitted(Object value) {
+        documents++;
+        if (value instanceof Franchise franchise) {
+            branches += franchise.getBranches().size();
+            products += franchise.countProducts();
+        }
+    }
+
+    private void complete(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.mapper;
 
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.BranchSummary;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
 import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.BranchEntity;
 import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.FranchiseEntity;
 import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.ProductEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.ProductRecordEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.jfr.ConversionEvent;
 import org.springframework.stereotype.Component;
 
 import java.util.stream.Collectors;
@@ -16,28 +20,52 @@ public class FranchiseMapper {
     public FranchiseEntity toEntity(Franchise domain) {
         if (domain == null) return null;
 
-        return FranchiseEntity.builder()
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        FranchiseEntity entity = FranchiseEntity.builder()
                 .id(domain.getId())
                 .name(domain.getName())
+                .version(domain.getVersion())
                 .branches(domain.getBranches().stream()
                         .map(this::toBranchEntity)
                         .collect(Collectors.toList()))
                 .build();
+        event.complete(ConversionEvent.MAPPER, ConversionEvent.WRITE, domain);
+        return entity;
     }
 
     public Franchise toDomain(FranchiseEntity entity) {
         if (entity == null) return null;
 
-        return Franchise.builder()
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        Franchise domain = Franchise.builder()
                 .id(entity.getId())
                 .name(entity.getName())
+                .version(entity.getVersion())
                 .branches(entity.getBranches().stream()
                         .map(this::toBranchDomain)
                         .collect(Collectors.toList()))
                 .build();
+        event.complete(ConversionEvent.MAPPER, ConversionEvent.READ, domain);
+        return domain;
     }
 
-    private BranchEntity toBranchEntity(Branch domain) {
+    public FranchiseSummary toSummary(FranchiseEntity entity, boolean withBranches) {
+        if (entity == null) return null;
+
+        return FranchiseSummary.builder()
+                .id(entity.getId())
+                .name(entity.getName())
+                .branches(withBranches && entity.getBranches() != null
+                        ? entity.getBranches().stream()
+                                .map(branch -> new BranchSummary(branch.getId(), branch.getName()))
+                                .collect(Collectors.toList())
+                        : null)
+                .build();
+    }
+
+    public BranchEntity toBranchEntity(Branch domain) {
         return BranchEntity.builder()
                 .id(domain.getId())
                 .name(domain.getName())
@@ -47,7 +75,7 @@ public class FranchiseMapper {
                 .build();
     }
 
-    private Branch toBranchDomain(BranchEntity entity) {
+    public Branch toBranchDomain(BranchEntity entity) {
         return Branch.builder()
                 .id(entity.getId())
                 .name(entity.getName())
@@ -57,7 +85,7 @@ public class FranchiseMapper {
                 .build();
     }
 
-    private ProductEntity toProductEntity(Product domain) {
+    public ProductEntity toProductEntity(Product domain) {
         return ProductEntity.builder()
                 .id(domain.getId())
                 .name(domain.getName())
@@ -72,4 +100,23 @@ public class FranchiseMapper {
                 .stock(entity.getStock())
                 .build();
     }
+
+    public ProductRecordEntity toProductRecord(String franchiseId, String branchId, Product domain, long seq) {
+        return ProductRecordEntity.builder()
+                .id(domain.getId())
+                .franchiseId(franchiseId)
+                .branchId(branchId)
+                .name(domain.getName())
+                .stock(domain.getStock())
+                .seq(seq)
+                .build();
+    }
+
+    public Product toProductDomain(ProductRecordEntity entity) {
+        return Product.builder()
+                .id(entity.getId())
+                .name(entity.getName())
+                .stock(entity.getStock())
+                .build();
+    }
 }
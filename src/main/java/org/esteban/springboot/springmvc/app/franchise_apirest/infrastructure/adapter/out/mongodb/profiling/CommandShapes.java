@@ -0,0 +1,104 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.profiling;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reduces a command to the shape of its filters: keys and operators are kept, values become {@code "?"}, arrays
+ * collapse to the shape of their first element and deep nesting is cut off. Strings starting with {@code $} are
+ * field paths and variables in aggregation expressions, so they are kept as well.
+ */
+final class CommandShapes {
+
+    private static final BsonString REDACTED = new BsonString("?");
+    private static final BsonString TRUNCATED = new BsonString("...");
+    private static final int MAX_DEPTH = 6;
+
+    private CommandShapes() {
+    }
+
+    static BsonDocument shapeOf(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        switch (commandName) {
+            case "find" -> copy(command, shape, "filter", "sort", "projection");
+            case "aggregate" -> shape.put("pipeline", pipeline(command.get("pipeline")));
+            case "count", "distinct" -> copy(command, shape, "query");
+            case "findAndModify" -> copy(command, shape, "query", "sort", "update");
+            case "update" -> firstStatement(command, "updates", shape, "q", "u");
+            case "delete" -> firstStatement(command, "deletes", shape, "q");
+            case "insert" -> shape.put("documents", count(command.get("documents")));
+            default -> {
+            }
+        }
+        return shape;
+    }
+
+    static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue collection = command.get("getMore".equals(commandName) ? "collection" : commandName);
+        return collection != null && collection.isString() ? collection.asString().getValue() : null;
+    }
+
+    private static void copy(BsonDocument command, BsonDocument shape, String... fields) {
+        for (String field : fields) {
+            BsonValue value = command.get(field);
+            if (value != null) {
+                shape.put(field, redact(value, 1));
+            }
+        }
+    }
+
+    // Bulk writes from this service carry one statement shape, so the first stands for all of them
+    private static void firstStatement(BsonDocument command, String array, BsonDocument shape, String... fields) {
+        BsonValue statements = command.get(array);
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) {
+            return;
+        }
+        shape.put("statements", new BsonInt32(statements.asArray().size()));
+        BsonValue first = statements.asArray().get(0);
+        if (first.isDocument()) {
+            copy(first.asDocument(), shape, fields);
+        }
+    }
+
+    private static BsonValue pipeline(BsonValue stages) {
+        if (stages == null || !stages.isArray()) {
+            return new BsonArray();
+        }
+        BsonArray shape = new BsonArray();
+        for (BsonValue stage : stages.asArray()) {
+            shape.add(redact(stage, 1));
+        }
+        return shape;
+    }
+
+    private static BsonValue redact(BsonValue value, int depth) {
+        if (value.isDocument()) {
+            if (depth > MAX_DEPTH) {
+                return TRUNCATED;
+            }
+            BsonDocument shape = new BsonDocument();
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                shape.put(entry.getKey(), redact(entry.getValue(), depth + 1));
+            }
+            return shape;
+        }
+        if (value.isArray()) {
+            BsonArray array = value.asArray();
+            return array.isEmpty() ? new BsonArray() : new BsonArray(List.of(redact(array.get(0), depth + 1)));
+        }
+        if (value.isString() && value.asString().getValue().startsWith("$")) {
+            return value;
+        }
+        return REDACTED;
+    }
+
+    private static BsonValue count(BsonValue documents) {
+        return new BsonInt32(documents != null && documents.isArray() ? documents.asArray().size() : 0);
+    }
+}
@@ -0,0 +1,131 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.profiling;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.io.BasicOutputBuffer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Driver {@link CommandListener} that logs commands slower than a threshold, with the redacted shape of their
+ * filters, and keeps them in a {@link SlowQueryBuffer}. The shape is taken when the command starts, because the
+ * driver releases the command document after the callback; reply size and document count are only worked out for
+ * commands that turn out slow.
+ */
+@Slf4j
+public class MongoCommandProfiler implements CommandListener {
+
+    private static final Set<String> PROFILED_COMMANDS = Set.of(
+            "find", "getMore", "aggregate", "count", "distinct", "findAndModify", "insert", "update", "delete");
+
+    private final long thresholdNanos;
+    private final SlowQueryBuffer slowQueries;
+    private final ConcurrentMap<Integer, Started> inFlight = new ConcurrentHashMap<>();
+
+    public MongoCommandProfiler(Duration threshold, SlowQueryBuffer slowQueries) {
+        this.thresholdNanos = threshold.toNanos();
+        this.slowQueries = slowQueries;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        if (!PROFILED_COMMANDS.contains(commandName)) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        inFlight.put(event.getRequestId(), new Started(
+                Instant.now(),
+                CommandShapes.collectionOf(commandName, command),
+                CommandShapes.shapeOf(commandName, command)));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Started started = inFlight.remove(event.getRequestId());
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (started == null || elapsed < thresholdNanos) {
+            return;
+        }
+        BsonDocument reply = event.getResponse();
+        record(started, event.getDatabaseName(), event.getCommandName(), elapsed,
+                documentsIn(reply), sizeOf(reply), "success");
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Started started = inFlight.remove(event.getRequestId());
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (started == null || elapsed < thresholdNanos) {
+            return;
+        }
+        record(started, event.getDatabaseName(), event.getCommandName(), elapsed, 0, 0,
+                event.getThrowable().getClass().getSimpleName());
+    }
+
+    private void record(Started started, String database, String commandName, long elapsedNanos,
+                        int documents, long replyBytes, String outcome) {
+        SlowQuery query = new SlowQuery(
+                started.at(),
+                database,
+                started.collection(),
+                commandName,
+                started.shape().toJson(),
+                elapsedNanos / 1_000_000.0,
+                documents,
+                replyBytes,
+                outcome);
+        slowQueries.add(query);
+        log.atWarn()
+                .addKeyValue("command", query.command())
+                .addKeyValue("collection", query.collection())
+                .addKeyValue("durationMs", query.durationMs())
+                .addKeyValue("documents", query.documents())
+                .addKeyValue("replyBytes", query.replyBytes())
+                .addKeyValue("outcome", query.outcome())
+                .addKeyValue("shape", query.shape())
+                .log("Slow Mongo command {} on {}.{} took {} ms, {} documents, {} reply bytes, {}: {}",
+                        query.command(), database, query.collection(), String.format("%.1f", query.durationMs()),
+                        query.documents(), query.replyBytes(), query.outcome(), query.shape());
+    }
+
+    // Cursor replies carry the batch; findAndModify the single value; writes the affected count
+    private static int documentsIn(BsonDocument reply) {
+        BsonValue cursor = reply.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonValue batch = cursor.asDocument().get("firstBatch");
+            if (batch == null) {
+                batch = cursor.asDocument().get("nextBatch");
+            }
+            return batch != null && batch.isArray() ? batch.asArray().size() : 0;
+        }
+        BsonValue value = reply.get("value");
+        if (value != null) {
+            return value.isNull() ? 0 : 1;
+        }
+        BsonValue n = reply.get("n");
+        return n != null && n.isNumber() ? n.asNumber().intValue() : 0;
+    }
+
+    private static long sizeOf(BsonDocument reply) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            writer.pipe(reply.asBsonReader());
+        }
+        return buffer.getPosition();
+    }
+
+    private record Started(Instant at, String collection, BsonDocument shape) {
+    }
+}
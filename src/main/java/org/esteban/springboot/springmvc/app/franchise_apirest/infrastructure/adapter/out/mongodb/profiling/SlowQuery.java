@@ -0,0 +1,15 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.profiling;
+
+import java.time.Instant;
+
+public record SlowQuery(
+        Instant startedAt,
+        String database,
+        String collection,
+        String command,
+        String shape,
+        double durationMs,
+        int documents,
+        long replyBytes,
+        String outcome) {
+}
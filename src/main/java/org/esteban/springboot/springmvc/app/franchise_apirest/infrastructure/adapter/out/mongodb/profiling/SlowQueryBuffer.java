@@ -0,0 +1,49 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.profiling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recent slow queries. Writers claim a slot with one atomic increment and overwrite
+ * the oldest entry, so recording never blocks or allocates beyond the entry itself.
+ */
+public class SlowQueryBuffer {
+
+    private static final Comparator<SlowQuery> SLOWEST_FIRST =
+            Comparator.comparingDouble(SlowQuery::durationMs).reversed();
+
+    private final AtomicReferenceArray<SlowQuery> slots;
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowQueryBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(SlowQuery query) {
+        slots.set((int) (next.getAndIncrement() % slots.length()), query);
+    }
+
+    public List<SlowQuery> slowest() {
+        List<SlowQuery> queries = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            SlowQuery query = slots.get(i);
+            if (query != null) {
+                queries.add(query);
+            }
+        }
+        queries.sort(SLOWEST_FIRST);
+        return queries;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.FranchiseBatchLoader;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.repository.FranchiseMongoRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(BatchLoaderProperties.class)
+public class BatchLoaderConfig {
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(prefix = "franchise.batch-loader", name = "enabled", havingValue = "true")
+    public FranchiseBatchLoader franchiseBatchLoader(FranchiseMongoRepository mongoRepository,
+                                                     BatchLoaderProperties properties) {
+        return new FranchiseBatchLoader(
+                mongoRepository,
+                properties.getMaxBatchSize(),
+                properties.getWindow(),
+                properties.getMaxConcurrentBatches());
+    }
+}
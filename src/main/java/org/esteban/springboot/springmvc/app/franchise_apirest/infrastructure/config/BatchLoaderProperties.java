@@ -0,0 +1,15 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.batch-loader")
+public class BatchLoaderProperties {
+    private boolean enabled = false;
+    private int maxBatchSize = 100;
+    private Duration window = Duration.ofNanos(500_000);
+    private int maxConcurrentBatches = 8;
+}
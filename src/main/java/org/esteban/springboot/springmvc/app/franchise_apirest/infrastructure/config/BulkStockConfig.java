@@ -0,0 +1,18 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.bulk.BulkStockWriter;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(BulkStockProperties.class)
+public class BulkStockConfig {
+
+    @Bean
+    public BulkStockWriter bulkStockWriter(FranchiseRepositoryPort franchiseRepositoryPort,
+                                           BulkStockProperties properties) {
+        return new BulkStockWriter(franchiseRepositoryPort, properties.getBatchSize(), properties.getParallelism());
+    }
+}
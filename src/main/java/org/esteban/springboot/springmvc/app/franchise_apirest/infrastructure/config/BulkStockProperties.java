@@ -0,0 +1,11 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.bulk-stock")
+public class BulkStockProperties {
+    private int batchSize = 500;
+    private int parallelism = 4;
+}
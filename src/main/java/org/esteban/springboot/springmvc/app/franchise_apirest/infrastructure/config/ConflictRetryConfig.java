@@ -0,0 +1,22 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.retry.ConflictRetryPolicy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ConflictRetryProperties.class)
+public class ConflictRetryConfig {
+
+    @Bean
+    public ConflictRetryPolicy conflictRetryPolicy(MeterRegistry meterRegistry, ConflictRetryProperties properties) {
+        return new ConflictRetryPolicy(
+                meterRegistry,
+                properties.getMaxRetries(),
+                properties.getMinBackoff(),
+                properties.getMaxBackoff(),
+                properties.getJitter());
+    }
+}
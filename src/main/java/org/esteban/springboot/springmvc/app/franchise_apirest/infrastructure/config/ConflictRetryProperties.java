@@ -0,0 +1,15 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.retry")
+public class ConflictRetryProperties {
+    private long maxRetries = 5;
+    private Duration minBackoff = Duration.ofMillis(5);
+    private Duration maxBackoff = Duration.ofMillis(200);
+    private double jitter = 0.5;
+}
@@ -0,0 +1,14 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.cache")
+public class FranchiseCacheProperties {
+    private boolean enabled = false;
+    private long maximumSize = 10_000;
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,31 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.memory.FranchiseSnapshotFile;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.memory.InMemoryFranchiseRepositoryAdapter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(InMemoryStorageProperties.class)
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "layout", havingValue = "memory")
+public class InMemoryStorageConfig {
+
+    @Bean
+    @Qualifier("franchiseStorage")
+    public InMemoryFranchiseRepositoryAdapter inMemoryFranchiseStorage() {
+        return new InMemoryFranchiseRepositoryAdapter();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "franchise.memory", name = "snapshot-path")
+    public FranchiseSnapshotFile franchiseSnapshotFile(InMemoryFranchiseRepositoryAdapter storage,
+                                                       ObjectMapper objectMapper,
+                                                       InMemoryStorageProperties properties) {
+        return new FranchiseSnapshotFile(storage, objectMapper, properties.getSnapshotPath(),
+                properties.getSnapshotInterval());
+    }
+}
@@ -0,0 +1,14 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.memory")
+public class InMemoryStorageProperties {
+    private Path snapshotPath;
+    private Duration snapshotInterval = Duration.ofSeconds(30);
+}
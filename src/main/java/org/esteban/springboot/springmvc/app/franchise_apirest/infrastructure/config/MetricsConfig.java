@@ -0,0 +1,21 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.metrics.UseCaseMetrics;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.in.web.filter.ResponseSizeMetricsFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public UseCaseMetrics useCaseMetrics(MeterRegistry meterRegistry) {
+        return new UseCaseMetrics(meterRegistry);
+    }
+
+    @Bean
+    public ResponseSizeMetricsFilter responseSizeMetricsFilter(MeterRegistry meterRegistry) {
+        return new ResponseSizeMetricsFilter(meterRegistry);
+    }
+}
@@ -0,0 +1,15 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+@Configuration
+public class MongoConversionsConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(FranchiseDocumentConverters.all());
+    }
+}
@@ -0,0 +1,33 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.in.actuator.SlowQueriesEndpoint;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.profiling.MongoCommandProfiler;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.profiling.SlowQueryBuffer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(MongoProfilerProperties.class)
+@ConditionalOnProperty(prefix = "franchise.mongo.profiler", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MongoProfilerConfig {
+
+    @Bean
+    public SlowQueryBuffer slowQueryBuffer(MongoProfilerProperties properties) {
+        return new SlowQueryBuffer(properties.getBufferSize());
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandProfiler(MongoProfilerProperties properties,
+                                                                     SlowQueryBuffer slowQueryBuffer) {
+        MongoCommandProfiler profiler = new MongoCommandProfiler(properties.getSlowThreshold(), slowQueryBuffer);
+        return settings -> settings.addCommandListener(profiler);
+    }
+
+    @Bean
+    public SlowQueriesEndpoint slowQueriesEndpoint(SlowQueryBuffer slowQueryBuffer) {
+        return new SlowQueriesEndpoint(slowQueryBuffer);
+    }
+}
@@ -0,0 +1,14 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.mongo.profiler")
+public class MongoProfilerProperties {
+    private boolean enabled = true;
+    private Duration slowThreshold = Duration.ofMillis(100);
+    private int bufferSize = 100;
+}
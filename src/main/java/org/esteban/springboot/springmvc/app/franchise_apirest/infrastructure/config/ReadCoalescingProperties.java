@@ -0,0 +1,10 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.read-coalescing")
+public class ReadCoalescingProperties {
+    private boolean enabled = true;
+}
@@ -0,0 +1,59 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.cache.CachingFranchiseRepository;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.cache.SingleFlightFranchiseRepository;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.coalescing.CoalescingStockFranchiseRepository;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.metrics.MeteredFranchiseRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@EnableConfigurationProperties({FranchiseCacheProperties.class, ReadCoalescingProperties.class, StreamingProperties.class,
+        StockCoalescingProperties.class})
+public class RepositoryPortConfig {
+
+    @Bean
+    @Primary
+    public FranchiseRepositoryPort franchiseRepositoryPort(
+            @Qualifier("franchiseStorage") FranchiseRepositoryPort storage,
+            FranchiseCacheProperties cacheProperties,
+            ReadCoalescingProperties readCoalescingProperties,
+            StockCoalescingProperties stockCoalescingProperties,
+            MeterRegistry meterRegistry) {
+        FranchiseRepositoryPort port = new MeteredFranchiseRepository(storage, meterRegistry);
+
+        if (stockCoalescingProperties.isEnabled()) {
+            port = new CoalescingStockFranchiseRepository(port, Schedulers.parallel(),
+                    stockCoalescingProperties.getFlushLatency(),
+                    stockCoalescingProperties.getMaxStaleness(),
+                    stockCoalescingProperties.getMaxBatchSize(),
+                    meterRegistry);
+        }
+
+        if (readCoalescingProperties.isEnabled()) {
+            port = new SingleFlightFranchiseRepository(port, meterRegistry);
+        }
+
+        if (cacheProperties.isEnabled()) {
+            Cache<String, Franchise> cache = Caffeine.newBuilder()
+                    .maximumSize(cacheProperties.getMaximumSize())
+                    .expireAfterWrite(cacheProperties.getTtl())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "franchises");
+            port = new CachingFranchiseRepository(port, cache);
+        }
+
+        return port;
+    }
+}
@@ -0,0 +1,15 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.stock-coalescing")
+public class StockCoalescingProperties {
+    private boolean enabled = false;
+    private Duration flushLatency = Duration.ofMillis(2);
+    private Duration maxStaleness = Duration.ofMillis(20);
+    private int maxBatchSize = 256;
+}
@@ -0,0 +1,11 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.streaming")
+public class StreamingProperties {
+    private int cursorBatchSize = 256;
+    private int branchBatchSize = 8;
+}
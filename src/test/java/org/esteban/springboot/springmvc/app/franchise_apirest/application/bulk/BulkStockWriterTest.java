@@ -0,0 +1,90 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.application.bulk;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Bulk Stock Writer Tests")
+class BulkStockWriterTest {
+
+    @Mock
+    private FranchiseRepositoryPort repository;
+
+    @Test
+    @DisplayName("Should hand storage one bulk write per batch of valid updates and report results in input order")
+    void shouldWriteValidUpdatesInBatches() {
+        // Given
+        List<List<FranchiseStockUpdate>> writes = new ArrayList<>();
+        when(repository.bulkUpdateProductStocks(anyList())).thenAnswer(invocation -> {
+            List<FranchiseStockUpdate> batch = invocation.getArgument(0);
+            writes.add(batch);
+            return Flux.fromIterable(batch).map(StockUpdateResult::ok);
+        });
+        BulkStockWriter writer = new BulkStockWriter(repository, 3, 1);
+
+        // When
+        List<StockUpdateResult> results = writer.write(Flux.just(
+                        update("prod-1", 1), update(null, 2), update("prod-3", null),
+                        update("prod-4", 4), update("prod-5", 5)))
+                .collectList()
+                .block();
+
+        // Then
+        assertEquals(List.of(List.of(update("prod-1", 1)), List.of(update("prod-4", 4), update("prod-5", 5))), writes);
+        assertEquals(5, results.size());
+        assertEquals(2, results.stream().filter(result -> result.getStatus() == StockUpdateResult.Status.INVALID).count());
+        assertEquals("Stock is required", results.get(2).getMessage());
+        assertEquals(Arrays.asList("prod-1", null, "prod-3", "prod-4", "prod-5"),
+                results.stream().map(StockUpdateResult::getProductId).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep batches in flight up to the parallelism and emit their results in input order")
+    void shouldEmitParallelBatchesInOrder() {
+        // Given
+        Sinks.One<StockUpdateResult> slowFirst = Sinks.one();
+        when(repository.bulkUpdateProductStocks(List.of(update("prod-1", 1))))
+                .thenReturn(slowFirst.asMono().flux());
+        when(repository.bulkUpdateProductStocks(List.of(update("prod-2", 2))))
+                .thenReturn(Flux.just(StockUpdateResult.ok(update("prod-2", 2))));
+        BulkStockWriter writer = new BulkStockWriter(repository, 1, 2);
+
+        // When / Then
+        StepVerifier.create(writer.write(Flux.just(update("prod-1", 1), update("prod-2", 2)))
+                        .map(StockUpdateResult::getProductId))
+                .then(() -> {
+                    verify(repository).bulkUpdateProductStocks(List.of(update("prod-2", 2)));
+                    slowFirst.tryEmitValue(StockUpdateResult.ok(update("prod-1", 1)));
+                })
+                .expectNext("prod-1", "prod-2")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive batch size or parallelism")
+    void shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new BulkStockWriter(repository, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BulkStockWriter(repository, 1, 0));
+    }
+
+    private static FranchiseStockUpdate update(String productId, Integer stock) {
+        return new FranchiseStockUpdate("franchise-1", "branch-1", productId, stock);
+    }
+}
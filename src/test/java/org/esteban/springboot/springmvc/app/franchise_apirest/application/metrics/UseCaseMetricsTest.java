@@ -0,0 +1,132 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.application.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ResourceNotFoundException;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Use Case Metrics Tests")
+class UseCaseMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UseCaseMetrics useCaseMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        useCaseMetrics = new UseCaseMetrics(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should time a successful use case once per subscription")
+    void shouldTimeSuccess() {
+        // Given
+        Mono<String> operation = useCaseMetrics.timed("getFranchise", Mono.just("ok"));
+
+        // When
+        StepVerifier.create(operation).expectNext("ok").verifyComplete();
+        StepVerifier.create(operation).expectNext("ok").verifyComplete();
+
+        // Then
+        assertEquals(2, count("getFranchise", "success"));
+    }
+
+    @Test
+    @DisplayName("Should not record anything until the use case is subscribed")
+    void shouldNotTimeUnsubscribedPipeline() {
+        // When
+        useCaseMetrics.timed("getFranchise", Mono.just("ok"));
+
+        // Then
+        assertTrue(meterRegistry.find("franchise.usecase").timers().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should tag failures by exception type")
+    void shouldTagFailures() {
+        // When
+        StepVerifier.create(useCaseMetrics.timed("getFranchise",
+                        Mono.error(new ResourceNotFoundException("missing"))))
+                .verifyError(ResourceNotFoundException.class);
+        StepVerifier.create(useCaseMetrics.timed("getFranchisesByIds",
+                        Flux.error(new IllegalArgumentException("too many"))))
+                .verifyError(IllegalArgumentException.class);
+        StepVerifier.create(useCaseMetrics.timed("deleteFranchise", Mono.error(new IllegalStateException())))
+                .verifyError(IllegalStateException.class);
+
+        // Then
+        assertEquals(1, count("getFranchise", "not_found"));
+        assertEquals(1, count("getFranchisesByIds", "invalid"));
+        assertEquals(1, count("deleteFranchise", "error"));
+    }
+
+    @Test
+    @DisplayName("Should tag a stream the client abandoned as cancelled")
+    void shouldTagCancellation() {
+        // When
+        StepVerifier.create(useCaseMetrics.timed("streamFranchises", Flux.range(1, 10)), 1)
+                .expectNext(1)
+                .thenCancel()
+                .verify();
+
+        // Then
+        assertEquals(1, count("streamFranchises", "cancelled"));
+        assertNull(meterRegistry.find("franchise.usecase").tag("outcome", "success").timer());
+    }
+
+    @Test
+    @DisplayName("Should report a use case over the threshold to Flight Recorder")
+    void shouldRecordFlightRecorderEvent(@TempDir Path directory) throws Exception {
+        // Given
+        Franchise franchise = Franchise.builder().id("franchise-1").name("Tech Store").build();
+        Branch branch = Branch.builder().id("branch-1").name("Main").build();
+        branch.addProduct(Product.builder().id("prod-1").name("Laptop").stock(5).build());
+        branch.addProduct(Product.builder().id("prod-2").name("Mouse").stock(3).build());
+        franchise.addBranch(branch);
+        Path file = directory.resolve("usecase.jfr");
+
+        // When
+        try (Recording recording = new Recording()) {
+            recording.enable("franchise.UseCase").withThreshold(Duration.ZERO);
+            recording.start();
+            StepVerifier.create(useCaseMetrics.timed("getFranchiseById", "franchise-1", Mono.just(franchise)))
+                    .expectNext(franchise)
+                    .verifyComplete();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("franchise.UseCase"))
+                .toList();
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("getFranchiseById", event.getString("useCase"));
+        assertEquals("franchise-1", event.getString("franchiseId"));
+        assertEquals("success", event.getString("outcome"));
+        assertEquals(1, event.getInt("branches"));
+        assertEquals(2, event.getInt("products"));
+    }
+
+    private long count(String useCase, String outcome) {
+        return meterRegistry.get("franchise.usecase").tag("use_case", useCase).tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,120 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.application.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ConcurrentUpdateException;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.memory.InMemoryFranchiseRepositoryAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Conflict Retry Policy Tests")
+class ConflictRetryPolicyTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConflictRetryPolicy retryPolicy;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retryPolicy = new ConflictRetryPolicy(meterRegistry, 2, Duration.ofMillis(1), Duration.ofMillis(5), 0.5);
+    }
+
+    @Test
+    @DisplayName("Should resubscribe after a conflict and record it")
+    void shouldResubscribeAfterConflictAndRecordIt() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> attempt = Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.error(new ConcurrentUpdateException("conflict", null))
+                : Mono.just("saved"));
+
+        // When & Then
+        StepVerifier.create(retryPolicy.apply("updateFranchiseName", attempt))
+                .expectNext("saved")
+                .verifyComplete();
+
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, meterRegistry.counter("franchise.mutation.conflicts", "use_case", "updateFranchiseName").count());
+        assertEquals(1.0, meterRegistry.counter("franchise.mutation.retries", "use_case", "updateFranchiseName").count());
+    }
+
+    @Test
+    @DisplayName("Should reload and save again when a concurrent write bumps the version")
+    void shouldReloadAndSaveAgainAfterVersionConflict() {
+        // Given
+        InMemoryFranchiseRepositoryAdapter repository = new InMemoryFranchiseRepositoryAdapter();
+        Branch branch = Branch.builder().id("branch-1").name("Main").build();
+        branch.addProduct(Product.builder().id("prod-1").name("Laptop").stock(50).build());
+        Franchise franchise = Franchise.builder().name("Tech Store").build();
+        franchise.addBranch(branch);
+        String franchiseId = repository.save(franchise).block().getId();
+
+        AtomicInteger loads = new AtomicInteger();
+        Mono<Franchise> loadRenameSave = repository.findById(franchiseId)
+                .flatMap(loaded -> {
+                    if (loads.incrementAndGet() == 1) {
+                        // Another writer lands between this load and the save below
+                        repository.updateProductStock(franchiseId, "branch-1", "prod-1", 7).block();
+                    }
+                    loaded.setName("Renamed");
+                    return repository.save(loaded);
+                });
+
+        // When & Then
+        StepVerifier.create(retryPolicy.apply("renameFranchise", loadRenameSave))
+                .assertNext(saved -> {
+                    assertEquals("Renamed", saved.getName());
+                    assertEquals(7, saved.findBranchById("branch-1").orElseThrow()
+                            .findProductById("prod-1").orElseThrow().getStock());
+                    assertEquals(2L, saved.getVersion());
+                })
+                .verifyComplete();
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.counter("franchise.mutation.conflicts", "use_case", "renameFranchise").count());
+        assertEquals(1.0, meterRegistry.counter("franchise.mutation.retries", "use_case", "renameFranchise").count());
+    }
+
+    @Test
+    @DisplayName("Should surface the conflict once retries are exhausted")
+    void shouldSurfaceConflictOnceRetriesAreExhausted() {
+        // Given
+        Mono<String> attempt = Mono.error(new ConcurrentUpdateException("conflict", null));
+
+        // When & Then
+        StepVerifier.create(retryPolicy.apply("updateFranchiseName", attempt))
+                .expectError(ConcurrentUpdateException.class)
+                .verify();
+
+        assertEquals(3.0, meterRegistry.counter("franchise.mutation.conflicts", "use_case", "updateFranchiseName").count());
+        assertEquals(1.0, meterRegistry.counter("franchise.mutation.retries.exhausted", "use_case", "updateFranchiseName").count());
+    }
+
+    @Test
+    @DisplayName("Should not retry other errors")
+    void shouldNotRetryOtherErrors() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> attempt = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new IllegalArgumentException("invalid"));
+        });
+
+        // When & Then
+        StepVerifier.create(retryPolicy.apply("updateFranchiseName", attempt))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        assertEquals(1, attempts.get());
+    }
+}
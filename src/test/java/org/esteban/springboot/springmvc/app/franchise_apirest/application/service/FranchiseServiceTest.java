@@ -1,25 +1,41 @@
 package org.esteban.springboot.springmvc.app.franchise_apirest.application.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.bulk.BulkStockWriter;
+import org.esteban.springboot.springmvc.app.franchise_apirest.application.metrics.UseCaseMetrics;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.InsufficientStockException;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ResourceNotFoundException;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseLookup;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePage;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePageCursor;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStreamEvent;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseView;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
-import java.util.Map;
+import java.util.List;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,7 +45,9 @@ class FranchiseServiceTest {
     @Mock
     private FranchiseRepositoryPort franchiseRepositoryPort;
 
-    @InjectMocks
+    @Spy
+    private UseCaseMetrics useCaseMetrics = new UseCaseMetrics(new SimpleMeterRegistry());
+
     private FranchiseService franchiseService;
 
     private Franchise testFranchise;
@@ -38,6 +56,9 @@ class FranchiseServiceTest {
 
     @BeforeEach
     void setUp() {
+        franchiseService = new FranchiseService(franchiseRepositoryPort,
+                new BulkStockWriter(franchiseRepositoryPort, 2, 2), useCaseMetrics);
+
         testProduct = Product.builder()
                 .id("prod-1")
                 .name("Laptop")
@@ -89,10 +110,11 @@ class FranchiseServiceTest {
     void shouldAddBranchToFranchiseSuccessfully() {
         // Given
         String branchName = "New Branch";
-        when(franchiseRepositoryPort.findById("franchise-1"))
-                .thenReturn(Mono.just(testFranchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class)))
-                .thenReturn(Mono.just(testFranchise));
+        when(franchiseRepositoryPort.addBranch(eq("franchise-1"), any(Branch.class)))
+                .thenAnswer(invocation -> {
+                    testFranchise.addBranch(invocation.getArgument(1));
+                    return Mono.just(testFranchise);
+                });
 
         // When
         Mono<Franchise> result = franchiseService.addBranch("franchise-1", branchName);
@@ -106,15 +128,16 @@ class FranchiseServiceTest {
                 )
                 .verifyComplete();
 
-        verify(franchiseRepositoryPort, times(1)).findById("franchise-1");
-        verify(franchiseRepositoryPort, times(1)).save(any(Franchise.class));
+        verify(franchiseRepositoryPort, times(1)).addBranch(eq("franchise-1"), any(Branch.class));
+        verify(franchiseRepositoryPort, never()).findById(anyString());
+        verify(franchiseRepositoryPort, never()).save(any());
     }
 
     @Test
     @DisplayName("Should throw exception when franchise not found while adding branch")
     void shouldThrowExceptionWhenFranchiseNotFoundWhileAddingBranch() {
         // Given
-        when(franchiseRepositoryPort.findById(anyString()))
+        when(franchiseRepositoryPort.addBranch(anyString(), any(Branch.class)))
                 .thenReturn(Mono.empty());
 
         // When
@@ -128,7 +151,7 @@ class FranchiseServiceTest {
                 )
                 .verify();
 
-        verify(franchiseRepositoryPort, times(1)).findById(anyString());
+        verify(franchiseRepositoryPort, times(1)).addBranch(anyString(), any(Branch.class));
         verify(franchiseRepositoryPort, never()).save(any());
     }
 
@@ -139,10 +162,11 @@ class FranchiseServiceTest {
         String productName = "Mouse";
         Integer stock = 100;
 
-        when(franchiseRepositoryPort.findById("franchise-1"))
-                .thenReturn(Mono.just(testFranchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class)))
-                .thenReturn(Mono.just(testFranchise));
+        when(franchiseRepositoryPort.addProduct(eq("franchise-1"), eq("branch-1"), any(Product.class)))
+                .thenAnswer(invocation -> {
+                    testBranch.addProduct(invocation.getArgument(2));
+                    return Mono.just(testFranchise);
+                });
 
         // When
         Mono<Franchise> result = franchiseService.addProduct(
@@ -157,14 +181,16 @@ class FranchiseServiceTest {
                 })
                 .verifyComplete();
 
-        verify(franchiseRepositoryPort, times(1)).findById("franchise-1");
-        verify(franchiseRepositoryPort, times(1)).save(any(Franchise.class));
+        verify(franchiseRepositoryPort, times(1)).addProduct(eq("franchise-1"), eq("branch-1"), any(Product.class));
+        verify(franchiseRepositoryPort, never()).save(any());
     }
 
     @Test
     @DisplayName("Should throw exception when branch not found while adding product")
     void shouldThrowExceptionWhenBranchNotFoundWhileAddingProduct() {
         // Given
+        when(franchiseRepositoryPort.addProduct(eq("franchise-1"), eq("non-existent-branch"), any(Product.class)))
+                .thenReturn(Mono.empty());
         when(franchiseRepositoryPort.findById("franchise-1"))
                 .thenReturn(Mono.just(testFranchise));
 
@@ -186,10 +212,11 @@ class FranchiseServiceTest {
     @DisplayName("Should delete product successfully")
     void shouldDeleteProductSuccessfully() {
         // Given
-        when(franchiseRepositoryPort.findById("franchise-1"))
-                .thenReturn(Mono.just(testFranchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class)))
-                .thenReturn(Mono.just(testFranchise));
+        when(franchiseRepositoryPort.removeProduct("franchise-1", "branch-1", "prod-1"))
+                .thenAnswer(invocation -> {
+                    testBranch.removeProduct("prod-1");
+                    return Mono.just(testFranchise);
+                });
 
         // When
         Mono<Franchise> result = franchiseService.deleteProduct(
@@ -204,13 +231,15 @@ class FranchiseServiceTest {
                 })
                 .verifyComplete();
 
-        verify(franchiseRepositoryPort, times(1)).save(any(Franchise.class));
+        verify(franchiseRepositoryPort, never()).save(any());
     }
 
     @Test
     @DisplayName("Should throw exception when product not found while deleting")
     void shouldThrowExceptionWhenProductNotFoundWhileDeleting() {
         // Given
+        when(franchiseRepositoryPort.removeProduct("franchise-1", "branch-1", "non-existent-product"))
+                .thenReturn(Mono.empty());
         when(franchiseRepositoryPort.findById("franchise-1"))
                 .thenReturn(Mono.just(testFranchise));
 
@@ -228,14 +257,88 @@ class FranchiseServiceTest {
                 .verify();
     }
 
+    @Test
+    @DisplayName("Should adjust product stock atomically and return the product")
+    void shouldAdjustProductStock() {
+        // Given
+        testProduct.setStock(45);
+        when(franchiseRepositoryPort.adjustProductStock("franchise-1", "branch-1", "prod-1", -5))
+                .thenReturn(Mono.just(testFranchise));
+
+        // When
+        Mono<Product> result = franchiseService.adjustProductStock("franchise-1", "branch-1", "prod-1", -5);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(product -> product.getId().equals("prod-1") && product.getStock() == 45)
+                .verifyComplete();
+        verify(franchiseRepositoryPort, never()).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("Should report insufficient stock when the guarded decrement matches nothing")
+    void shouldReportInsufficientStock() {
+        // Given
+        when(franchiseRepositoryPort.adjustProductStock("franchise-1", "branch-1", "prod-1", -60))
+                .thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findById("franchise-1")).thenReturn(Mono.just(testFranchise));
+
+        // When
+        Mono<Product> result = franchiseService.adjustProductStock("franchise-1", "branch-1", "prod-1", -60);
+
+        // Then
+        StepVerifier.create(result)
+                .expectErrorMatches(error -> error instanceof InsufficientStockException
+                        && error.getMessage().contains("available 50"))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should report a missing product when the adjustment matches nothing")
+    void shouldReportMissingProductOnAdjustment() {
+        // Given
+        when(franchiseRepositoryPort.adjustProductStock("franchise-1", "branch-1", "missing", 1))
+                .thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findById("franchise-1")).thenReturn(Mono.just(testFranchise));
+
+        // When
+        Mono<Product> result = franchiseService.adjustProductStock("franchise-1", "branch-1", "missing", 1);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should write bulk stock updates in batches and report invalid entries without storing them")
+    void shouldBulkUpdateProductStock() {
+        // Given
+        FranchiseStockUpdate first = new FranchiseStockUpdate("franchise-1", "branch-1", "prod-1", 5);
+        FranchiseStockUpdate negative = new FranchiseStockUpdate("franchise-1", "branch-1", "prod-1", -5);
+        FranchiseStockUpdate second = new FranchiseStockUpdate("franchise-2", "branch-1", "prod-9", 1);
+        when(franchiseRepositoryPort.bulkUpdateProductStocks(List.of(first)))
+                .thenReturn(Flux.just(StockUpdateResult.ok(first)));
+        when(franchiseRepositoryPort.bulkUpdateProductStocks(List.of(second)))
+                .thenReturn(Flux.just(StockUpdateResult.notFound(second)));
+
+        // When
+        Flux<StockUpdateResult> result = franchiseService.bulkUpdateProductStock(Flux.just(first, negative, second));
+
+        // Then
+        StepVerifier.create(result.map(StockUpdateResult::getStatus))
+                .expectNext(StockUpdateResult.Status.OK, StockUpdateResult.Status.INVALID,
+                        StockUpdateResult.Status.NOT_FOUND)
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("Should update product stock successfully")
     void shouldUpdateProductStockSuccessfully() {
         // Given
         Integer newStock = 200;
-        when(franchiseRepositoryPort.findById("franchise-1"))
-                .thenReturn(Mono.just(testFranchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class)))
+        testProduct.setStock(newStock);
+        when(franchiseRepositoryPort.updateProductStock("franchise-1", "branch-1", "prod-1", newStock))
                 .thenReturn(Mono.just(testFranchise));
 
         // When
@@ -251,48 +354,188 @@ class FranchiseServiceTest {
                     return product != null && product.getStock().equals(newStock);
                 })
                 .verifyComplete();
+
+        verify(franchiseRepositoryPort, never()).findById(anyString());
+        verify(franchiseRepositoryPort, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when product not found while updating stock")
+    void shouldThrowExceptionWhenProductNotFoundWhileUpdatingStock() {
+        // Given
+        when(franchiseRepositoryPort.updateProductStock("franchise-1", "branch-1", "non-existent-product", 10))
+                .thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findById("franchise-1"))
+                .thenReturn(Mono.just(testFranchise));
+
+        // When
+        Mono<Franchise> result = franchiseService.updateProductStock(
+                "franchise-1", "branch-1", "non-existent-product", 10
+        );
+
+        // Then
+        StepVerifier.create(result)
+                .expectErrorMatches(throwable ->
+                        throwable instanceof ResourceNotFoundException &&
+                        throwable.getMessage().contains("Product not found")
+                )
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should throw exception when branch not found while updating stock")
+    void shouldThrowExceptionWhenBranchNotFoundWhileUpdatingStock() {
+        // Given
+        when(franchiseRepositoryPort.updateProductStock("franchise-1", "non-existent-branch", "prod-1", 10))
+                .thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findById("franchise-1"))
+                .thenReturn(Mono.just(testFranchise));
+
+        // When
+        Mono<Franchise> result = franchiseService.updateProductStock(
+                "franchise-1", "non-existent-branch", "prod-1", 10
+        );
+
+        // Then
+        StepVerifier.create(result)
+                .expectErrorMatches(throwable ->
+                        throwable instanceof ResourceNotFoundException &&
+                        throwable.getMessage().contains("Branch not found")
+                )
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should reject negative stock without touching the repository")
+    void shouldRejectNegativeStockWithoutTouchingRepository() {
+        // When
+        Mono<Franchise> result = franchiseService.updateProductStock(
+                "franchise-1", "branch-1", "prod-1", -5
+        );
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(franchiseRepositoryPort);
     }
 
     @Test
     @DisplayName("Should get top products by branch")
     void shouldGetTopProductsByBranch() {
         // Given
-        Product product2 = Product.builder()
-                .id("prod-2")
-                .name("Mouse")
-                .stock(100)
-                .build();
-        testBranch.addProduct(product2);
-
-        Branch branch2 = Branch.builder()
-                .id("branch-2")
-                .name("Secondary Branch")
+        TopProduct top1 = TopProduct.builder()
+                .branchId("branch-1").branchName("Main Branch")
+                .productId("prod-2").productName("Mouse").stock(100)
                 .build();
-        Product product3 = Product.builder()
-                .id("prod-3")
-                .name("Keyboard")
-                .stock(150)
+        TopProduct top2 = TopProduct.builder()
+                .branchId("branch-2").branchName("Secondary Branch")
+                .productId("prod-3").productName("Keyboard").stock(150)
                 .build();
-        branch2.addProduct(product3);
-        testFranchise.addBranch(branch2);
 
-        when(franchiseRepositoryPort.findById("franchise-1"))
-                .thenReturn(Mono.just(testFranchise));
+        when(franchiseRepositoryPort.findTopProductsByBranch("franchise-1", 1))
+                .thenReturn(Flux.just(top1, top2));
 
         // When
-        Flux<Map.Entry<Branch, Product>> result = franchiseService.getTopProductsByBranch("franchise-1");
+        Flux<TopProduct> result = franchiseService.getTopProductsByBranch("franchise-1", 1);
 
         // Then
         StepVerifier.create(result)
-                .expectNextMatches(entry ->
-                        entry.getKey().getId().equals("branch-1") &&
-                        entry.getValue().getStock() == 100
+                .expectNextMatches(topProduct ->
+                        topProduct.getBranchId().equals("branch-1") &&
+                        topProduct.getStock() == 100
                 )
-                .expectNextMatches(entry ->
-                        entry.getKey().getId().equals("branch-2") &&
-                        entry.getValue().getStock() == 150
+                .expectNextMatches(topProduct ->
+                        topProduct.getBranchId().equals("branch-2") &&
+                        topProduct.getStock() == 150
                 )
                 .verifyComplete();
+
+        verify(franchiseRepositoryPort, never()).findById(anyString());
+        verify(franchiseRepositoryPort, never()).existsById(anyString());
+    }
+
+    @Test
+    @DisplayName("Should return no top products for an existing franchise without products")
+    void shouldReturnNoTopProductsForExistingFranchiseWithoutProducts() {
+        // Given
+        when(franchiseRepositoryPort.findTopProductsByBranch("franchise-1", 1))
+                .thenReturn(Flux.empty());
+        when(franchiseRepositoryPort.existsById("franchise-1"))
+                .thenReturn(Mono.just(true));
+
+        // When & Then
+        StepVerifier.create(franchiseService.getTopProductsByBranch("franchise-1", 1))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should throw exception when franchise not found while getting top products")
+    void shouldThrowExceptionWhenFranchiseNotFoundWhileGettingTopProducts() {
+        // Given
+        when(franchiseRepositoryPort.findTopProductsByBranch("non-existent", 1))
+                .thenReturn(Flux.empty());
+        when(franchiseRepositoryPort.existsById("non-existent"))
+                .thenReturn(Mono.just(false));
+
+        // When & Then
+        StepVerifier.create(franchiseService.getTopProductsByBranch("non-existent", 1))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should merge per-branch rankings into franchise-wide top products")
+    void shouldMergePerBranchRankingsIntoFranchiseWideTopProducts() {
+        // Given
+        when(franchiseRepositoryPort.findTopProductsByBranch("franchise-1", 3))
+                .thenReturn(Flux.just(
+                        topProduct("branch-1", "p1", 90),
+                        topProduct("branch-1", "p2", 40),
+                        topProduct("branch-1", "p3", 10),
+                        topProduct("branch-2", "p4", 70),
+                        topProduct("branch-2", "p5", 40),
+                        topProduct("branch-3", "p6", 95)));
+
+        // When
+        Flux<TopProduct> result = franchiseService.getFranchiseTopProducts("franchise-1", 3);
+
+        // Then
+        StepVerifier.create(result.map(TopProduct::getProductId))
+                .expectNext("p6", "p1", "p4")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should break franchise-wide stock ties by branch order")
+    void shouldBreakFranchiseWideStockTiesByBranchOrder() {
+        // Given
+        when(franchiseRepositoryPort.findTopProductsByBranch("franchise-1", 2))
+                .thenReturn(Flux.just(
+                        topProduct("branch-1", "p1", 40),
+                        topProduct("branch-2", "p2", 40),
+                        topProduct("branch-3", "p3", 40)));
+
+        // When & Then
+        StepVerifier.create(franchiseService.getFranchiseTopProducts("franchise-1", 2).map(TopProduct::getProductId))
+                .expectNext("p1", "p2")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject out of range top products limit")
+    void shouldRejectOutOfRangeTopProductsLimit() {
+        // When & Then
+        StepVerifier.create(franchiseService.getTopProductsByBranch("franchise-1", 0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        StepVerifier.create(franchiseService.getFranchiseTopProducts("franchise-1", 101))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(franchiseRepositoryPort);
     }
 
     @Test
@@ -349,15 +592,169 @@ class FranchiseServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Should read a summary view without branches")
+    void shouldGetFranchiseSummary() {
+        // Given
+        FranchiseSummary summary = FranchiseSummary.builder().id("franchise-1").name("Test Franchise").build();
+        when(franchiseRepositoryPort.findSummaryById("franchise-1", false)).thenReturn(Mono.just(summary));
+
+        // When & Then
+        StepVerifier.create(franchiseService.getFranchiseSummary("franchise-1", FranchiseView.SUMMARY))
+                .expectNext(summary)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail with not found when the summary view has no franchise")
+    void shouldFailSummaryWhenFranchiseMissing() {
+        // Given
+        when(franchiseRepositoryPort.findSummaryById("missing", true)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(franchiseService.getFranchiseSummary("missing", FranchiseView.BRANCHES))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should stream the franchise header before its branches")
+    void shouldStreamHeaderThenBranches() {
+        // Given
+        FranchiseSummary header = FranchiseSummary.builder().id("franchise-1").name("Test Franchise").build();
+        Branch second = Branch.builder().id("branch-2").name("Second Branch").build();
+        when(franchiseRepositoryPort.findSummaryById("franchise-1", false)).thenReturn(Mono.just(header));
+        when(franchiseRepositoryPort.streamBranches("franchise-1", true)).thenReturn(Flux.just(testBranch, second));
+
+        // When & Then
+        StepVerifier.create(franchiseService.streamFranchise("franchise-1", true))
+                .expectNextMatches(event -> event.getType() == FranchiseStreamEvent.Type.FRANCHISE
+                        && event.getFranchiseName().equals("Test Franchise"))
+                .expectNextMatches(event -> event.getType() == FranchiseStreamEvent.Type.BRANCH
+                        && event.getBranch() == testBranch)
+                .expectNextMatches(event -> event.getBranch() == second)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail the stream with not found before reading branches")
+    void shouldFailStreamWhenFranchiseMissing() {
+        // Given
+        when(franchiseRepositoryPort.findSummaryById("missing", false)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(franchiseService.streamFranchise("missing", true))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+
+        verify(franchiseRepositoryPort, never()).streamBranches(anyString(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should look up many franchises with one query and keep request order")
+    void shouldGetFranchisesByIdsInRequestOrder() {
+        // Given
+        Franchise franchise2 = Franchise.builder().id("franchise-2").name("Another Store").build();
+        when(franchiseRepositoryPort.findAllById(anyCollection()))
+                .thenReturn(Flux.just(franchise2, testFranchise));
+
+        // When
+        Flux<FranchiseLookup> result = franchiseService.getFranchisesByIds(
+                List.of("franchise-1", "missing", "franchise-2", "franchise-1"));
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(lookup -> lookup.isFound() && lookup.getFranchise() == testFranchise)
+                .expectNextMatches(lookup -> !lookup.isFound() && lookup.getId().equals("missing")
+                        && lookup.getFranchise() == null)
+                .expectNextMatches(lookup -> lookup.isFound() && lookup.getFranchise() == franchise2)
+                .expectNextMatches(lookup -> lookup.isFound() && lookup.getId().equals("franchise-1"))
+                .verifyComplete();
+
+        verify(franchiseRepositoryPort, times(1))
+                .findAllById(argThat(ids -> ids.size() == 3 && ids.contains("missing")));
+    }
+
+    @Test
+    @DisplayName("Should return a page with a continuation cursor when more franchises exist")
+    void shouldReturnPageWithNextCursor() {
+        // Given
+        Franchise franchise2 = Franchise.builder().id("franchise-2").name("Tech Store").build();
+        Franchise franchise3 = Franchise.builder().id("franchise-3").name("Toy Store").build();
+        when(franchiseRepositoryPort.findPage("T", null, 3))
+                .thenReturn(Flux.just(testFranchise, franchise2, franchise3));
+
+        // When
+        Mono<FranchisePage> result = franchiseService.getFranchisesPage("T", null, 2);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(page -> {
+                    assertEquals(List.of(testFranchise, franchise2), page.getItems());
+                    assertEquals(new FranchisePageCursor("Tech Store", "franchise-2"),
+                            FranchisePageCursor.decode(page.getNextCursor()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should resume after the cursor and omit the cursor on the last page")
+    void shouldResumeAfterCursorOnLastPage() {
+        // Given
+        FranchisePageCursor after = new FranchisePageCursor("Tech Store", "franchise-2");
+        when(franchiseRepositoryPort.findPage(null, after, 3))
+                .thenReturn(Flux.just(testFranchise));
+
+        // When
+        Mono<FranchisePage> result = franchiseService.getFranchisesPage(null, after.encode(), 2);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(page -> {
+                    assertEquals(1, page.getItems().size());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid page sizes and cursors")
+    void shouldRejectInvalidPageRequests() {
+        // When & Then
+        StepVerifier.create(franchiseService.getFranchisesPage(null, null, 0))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(franchiseService.getFranchisesPage(null, "%%%", 10))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(franchiseRepositoryPort, never()).findPage(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch lookup above the maximum size")
+    void shouldRejectOversizedBatch() {
+        // Given
+        List<String> ids = IntStream.range(0, 201).mapToObj(i -> "franchise-" + i).toList();
+
+        // When & Then
+        StepVerifier.create(franchiseService.getFranchisesByIds(ids))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(franchiseRepositoryPort, never()).findAllById(anyCollection());
+    }
+
     @Test
     @DisplayName("Should update franchise name successfully")
     void shouldUpdateFranchiseNameSuccessfully() {
         // Given
         String newName = "Updated Franchise";
-        when(franchiseRepositoryPort.findById("franchise-1"))
-                .thenReturn(Mono.just(testFranchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class)))
-                .thenReturn(Mono.just(testFranchise));
+        when(franchiseRepositoryPort.updateFranchiseName("franchise-1", newName))
+                .thenAnswer(invocation -> {
+                    testFranchise.setName(newName);
+                    return Mono.just(testFranchise);
+                });
 
         // When
         Mono<Franchise> result = franchiseService.updateFranchiseName("franchise-1", newName);
@@ -366,6 +763,25 @@ class FranchiseServiceTest {
         StepVerifier.create(result)
                 .expectNextMatches(franchise -> franchise.getName().equals(newName))
                 .verifyComplete();
+
+        verify(franchiseRepositoryPort, never()).findById(anyString());
+        verify(franchiseRepositoryPort, never()).save(any(Franchise.class));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when franchise not found while updating franchise name")
+    void shouldThrowExceptionWhenFranchiseNotFoundWhileUpdatingFranchiseName() {
+        // Given
+        when(franchiseRepositoryPort.updateFranchiseName("non-existent", "Name"))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<Franchise> result = franchiseService.updateFranchiseName("non-existent", "Name");
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(ResourceNotFoundException.class)
+                .verify();
     }
 
     @Test
@@ -373,10 +789,11 @@ class FranchiseServiceTest {
     void shouldUpdateBranchNameSuccessfully() {
         // Given
         String newName = "Updated Branch";
-        when(franchiseRepositoryPort.findById("franchise-1"))
-                .thenReturn(Mono.just(testFranchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class)))
-                .thenReturn(Mono.just(testFranchise));
+        when(franchiseRepositoryPort.updateBranchName("franchise-1", "branch-1", newName))
+                .thenAnswer(invocation -> {
+                    testBranch.setName(newName);
+                    return Mono.just(testFranchise);
+                });
 
         // When
         Mono<Franchise> result = franchiseService.updateBranchName(
@@ -397,10 +814,11 @@ class FranchiseServiceTest {
     void shouldUpdateProductNameSuccessfully() {
         // Given
         String newName = "Updated Product";
-        when(franchiseRepositoryPort.findById("franchise-1"))
-                .thenReturn(Mono.just(testFranchise));
-        when(franchiseRepositoryPort.save(any(Franchise.class)))
-                .thenReturn(Mono.just(testFranchise));
+        when(franchiseRepositoryPort.updateProductName("franchise-1", "branch-1", "prod-1", newName))
+                .thenAnswer(invocation -> {
+                    testProduct.setName(newName);
+                    return Mono.just(testFranchise);
+                });
 
         // When
         Mono<Franchise> result = franchiseService.updateProductName(
@@ -416,4 +834,37 @@ class FranchiseServiceTest {
                 })
                 .verifyComplete();
     }
+
+    @Test
+    @DisplayName("Should throw exception when franchise not found while updating branch name")
+    void shouldThrowExceptionWhenFranchiseNotFoundWhileUpdatingBranchName() {
+        // Given
+        when(franchiseRepositoryPort.updateBranchName("non-existent", "branch-1", "Name"))
+                .thenReturn(Mono.empty());
+        when(franchiseRepositoryPort.findById("non-existent"))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<Franchise> result = franchiseService.updateBranchName("non-existent", "branch-1", "Name");
+
+        // Then
+        StepVerifier.create(result)
+                .expectErrorMatches(throwable ->
+                        throwable instanceof ResourceNotFoundException &&
+                        throwable.getMessage().contains("Franchise not found")
+                )
+                .verify();
+
+        verify(franchiseRepositoryPort, never()).save(any());
+    }
+
+    private TopProduct topProduct(String branchId, String productId, int stock) {
+        return TopProduct.builder()
+                .branchId(branchId)
+                .branchName("Branch " + branchId)
+                .productId(productId)
+                .productName("Product " + productId)
+                .stock(stock)
+                .build();
+    }
 }
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -157,4 +158,51 @@ class BranchTest {
         assertTrue(maxStockProduct.isPresent());
         assertEquals(100, maxStockProduct.get().getStock());
     }
+
+    @Test
+    @DisplayName("Should get top products by stock in descending order")
+    void shouldGetTopProductsByStockInDescendingOrder() {
+        // Given
+        branch.addProduct(product1);  // stock: 50
+        branch.addProduct(product2);  // stock: 100
+        branch.addProduct(Product.builder().id("prod-3").name("Keyboard").stock(75).build());
+        branch.addProduct(Product.builder().id("prod-4").name("Monitor").stock(10).build());
+
+        // When
+        List<Product> top = branch.getTopProductsByStock(3);
+
+        // Then
+        assertEquals(List.of("prod-2", "prod-3", "prod-1"), top.stream().map(Product::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep the earlier product when top products tie on stock")
+    void shouldKeepEarlierProductWhenTopProductsTieOnStock() {
+        // Given
+        branch.addProduct(Product.builder().id("prod-a").name("A").stock(30).build());
+        branch.addProduct(Product.builder().id("prod-b").name("B").stock(30).build());
+        branch.addProduct(Product.builder().id("prod-c").name("C").stock(30).build());
+
+        // When
+        List<Product> top = branch.getTopProductsByStock(2);
+
+        // Then
+        assertEquals(List.of("prod-a", "prod-b"), top.stream().map(Product::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should return all products when limit exceeds product count")
+    void shouldReturnAllProductsWhenLimitExceedsProductCount() {
+        // Given
+        branch.addProduct(product1);
+        branch.addProduct(product2);
+
+        // When
+        List<Product> top = branch.getTopProductsByStock(10);
+
+        // Then
+        assertEquals(2, top.size());
+        assertEquals("prod-2", top.get(0).getId());
+        assertTrue(branch.getTopProductsByStock(0).isEmpty());
+    }
 }
@@ -0,0 +1,31 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Franchise Page Cursor Tests")
+class FranchisePageCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip name and id through the encoded token")
+    void shouldRoundTrip() {
+        // Given
+        FranchisePageCursor cursor = new FranchisePageCursor("Café & Co / Norte", "65f0c1a2b3c4d5e6f7a8b9c0");
+
+        // When
+        FranchisePageCursor decoded = FranchisePageCursor.decode(cursor.encode());
+
+        // Then
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens that were not produced by encode")
+    void shouldRejectInvalidTokens() {
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> FranchisePageCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> FranchisePageCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+}
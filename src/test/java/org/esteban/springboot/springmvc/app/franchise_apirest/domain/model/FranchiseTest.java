@@ -106,4 +106,43 @@ class FranchiseTest {
         assertFalse(found.isPresent());
         assertTrue(franchise.getBranches().isEmpty());
     }
+
+    @Test
+    @DisplayName("Should deep copy branches and products")
+    void shouldDeepCopyBranchesAndProducts() {
+        // Given
+        branch1.addProduct(Product.builder().id("product-1").name("Laptop").stock(10).build());
+        franchise.addBranch(branch1);
+        franchise.setVersion(3L);
+
+        // When
+        Franchise copy = franchise.copy();
+        copy.getBranches().get(0).getProducts().get(0).updateStock(99);
+        copy.getBranches().get(0).setName("Renamed");
+        copy.addBranch(branch2);
+
+        // Then
+        assertEquals(franchise.getId(), copy.getId());
+        assertEquals(3L, copy.getVersion());
+        assertEquals(1, franchise.getBranches().size());
+        assertEquals("Downtown", branch1.getName());
+        assertEquals(10, branch1.getProducts().get(0).getStock());
+    }
+
+    @Test
+    @DisplayName("Should count products across all branches")
+    void shouldCountProductsAcrossBranches() {
+        // Given
+        branch1.addProduct(Product.builder().id("product-1").name("Laptop").stock(10).build());
+        branch1.addProduct(Product.builder().id("product-2").name("Mouse").stock(5).build());
+        branch2.addProduct(Product.builder().id("product-3").name("Monitor").stock(2).build());
+        franchise.addBranch(branch1);
+        franchise.addBranch(branch2);
+
+        // When
+        int products = franchise.countProducts();
+
+        // Then
+        assertEquals(3, products);
+    }
 }
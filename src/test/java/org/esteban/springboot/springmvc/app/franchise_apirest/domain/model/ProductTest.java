@@ -1,5 +1,6 @@
 package org.esteban.springboot.springmvc.app.franchise_apirest.domain.model;
 
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.InsufficientStockException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -83,4 +84,29 @@ class ProductTest {
         // Then
         assertEquals(0, product.getStock());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should add a positive or negative delta to the stock")
+    void shouldAdjustStock() {
+        // Given
+        Product product = Product.builder().id("prod-1").name("Mouse").stock(10).build();
+
+        // When
+        product.adjustStock(5);
+        product.adjustStock(-15);
+
+        // Then
+        assertEquals(0, product.getStock());
+    }
+
+    @Test
+    @DisplayName("Should refuse a decrement below zero and leave the stock unchanged")
+    void shouldRefuseAdjustmentBelowZero() {
+        // Given
+        Product product = Product.builder().id("prod-1").name("Mouse").stock(2).build();
+
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> product.adjustStock(-3));
+        assertEquals(2, product.getStock());
+    }
+}
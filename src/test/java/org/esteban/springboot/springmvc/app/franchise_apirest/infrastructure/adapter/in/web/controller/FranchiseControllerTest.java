@@ -1,9 +1,19 @@
 package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.in.web.controller;
 
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.InsufficientStockException;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ResourceNotFoundException;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.BranchSummary;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseLookup;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchisePage;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStreamEvent;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseView;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.TopProduct;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.in.*;
 import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.in.web.dto.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,9 +26,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
-import java.util.AbstractMap;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -207,15 +219,87 @@ class FranchiseControllerTest {
                 .jsonPath("$.branches[0].products[0].stock").isEqualTo(200);
     }
 
+    @Test
+    @DisplayName("PATCH /api/franchises/{franchiseId}/branches/{branchId}/products/{productId}/stock - Should adjust stock")
+    void shouldAdjustStock() {
+        // Given
+        Product product = Product.builder().id("prod-1").name("Laptop").stock(7).build();
+        when(updateProductStockUseCase.adjustProductStock("franchise-1", "branch-1", "prod-1", -3))
+                .thenReturn(Mono.just(product));
+
+        // When & Then
+        webTestClient.patch()
+                .uri("/api/franchises/franchise-1/branches/branch-1/products/prod-1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new AdjustStockRequest(-3))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("prod-1")
+                .jsonPath("$.stock").isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("PATCH /api/franchises/{franchiseId}/branches/{branchId}/products/{productId}/stock - Should answer 409 when stock is short")
+    void shouldRejectAdjustmentBelowZero() {
+        // Given
+        when(updateProductStockUseCase.adjustProductStock("franchise-1", "branch-1", "prod-1", -30))
+                .thenReturn(Mono.error(new InsufficientStockException("Insufficient stock for product prod-1")));
+
+        // When & Then
+        webTestClient.patch()
+                .uri("/api/franchises/franchise-1/branches/branch-1/products/prod-1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new AdjustStockRequest(-30))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    @DisplayName("POST /api/franchises/stock/bulk - Should stream one result per NDJSON entry")
+    void shouldBulkUpdateStockAsNdjson() {
+        // Given
+        when(updateProductStockUseCase.bulkUpdateProductStock(any())).thenAnswer(invocation -> {
+            Flux<FranchiseStockUpdate> updates = invocation.getArgument(0);
+            return updates.map(update -> update.getStock() < 0
+                    ? StockUpdateResult.invalid(update, "Stock cannot be negative")
+                    : StockUpdateResult.ok(update));
+        });
+        String body = """
+                {"franchiseId":"franchise-1","branchId":"branch-1","productId":"prod-1","stock":5}
+                {"franchiseId":"franchise-1","branchId":"branch-1","productId":"prod-2","stock":-1}
+                """;
+
+        // When & Then
+        webTestClient.post()
+                .uri("/api/franchises/stock/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(StockUpdateResult.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNextMatches(result -> result.getProductId().equals("prod-1")
+                        && result.getStatus() == StockUpdateResult.Status.OK)
+                .expectNextMatches(result -> result.getProductId().equals("prod-2")
+                        && result.getStatus() == StockUpdateResult.Status.INVALID)
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("GET /api/franchises/{franchiseId}/top-products - Should get top products")
     void shouldGetTopProducts() {
         // Given
-        Branch branch = Branch.builder().id("branch-1").name("Branch").build();
-        Product product = Product.builder().id("prod-1").name("Laptop").stock(100).build();
+        TopProduct topProduct = TopProduct.builder()
+                .branchId("branch-1").branchName("Branch")
+                .productId("prod-1").productName("Laptop").stock(100)
+                .build();
 
-        when(getTopProductsByBranchUseCase.getTopProductsByBranch(anyString()))
-                .thenReturn(Flux.just(new AbstractMap.SimpleEntry<>(branch, product)));
+        when(getTopProductsByBranchUseCase.getTopProductsByBranch("franchise-1", 1))
+                .thenReturn(Flux.just(topProduct));
 
         // When & Then
         webTestClient.get()
@@ -232,6 +316,68 @@ class FranchiseControllerTest {
                 });
     }
 
+    @Test
+    @DisplayName("GET /api/franchises/{franchiseId}/top-products?limit=k - Should pass the limit through")
+    void shouldGetTopProductsWithLimit() {
+        // Given
+        TopProduct first = TopProduct.builder()
+                .branchId("branch-1").branchName("Branch")
+                .productId("prod-1").productName("Laptop").stock(100)
+                .build();
+        TopProduct second = TopProduct.builder()
+                .branchId("branch-1").branchName("Branch")
+                .productId("prod-2").productName("Mouse").stock(80)
+                .build();
+
+        when(getTopProductsByBranchUseCase.getTopProductsByBranch("franchise-1", 2))
+                .thenReturn(Flux.just(first, second));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franchises/franchise-1/top-products?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].productId").isEqualTo("prod-2");
+    }
+
+    @Test
+    @DisplayName("GET /api/franchises/{franchiseId}/top-products/overall - Should get franchise-wide top products")
+    void shouldGetFranchiseTopProducts() {
+        // Given
+        TopProduct topProduct = TopProduct.builder()
+                .branchId("branch-2").branchName("Branch 2")
+                .productId("prod-9").productName("Monitor").stock(300)
+                .build();
+
+        when(getTopProductsByBranchUseCase.getFranchiseTopProducts("franchise-1", 5))
+                .thenReturn(Flux.just(topProduct));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franchises/franchise-1/top-products/overall?limit=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].branchId").isEqualTo("branch-2")
+                .jsonPath("$[0].stock").isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("GET /api/franchises/{franchiseId}/top-products - Should return 400 for invalid limit")
+    void shouldReturn400ForInvalidTopProductsLimit() {
+        // Given
+        when(getTopProductsByBranchUseCase.getTopProductsByBranch("franchise-1", 0))
+                .thenReturn(Flux.error(new IllegalArgumentException("Limit must be between 1 and 100")));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franchises/franchise-1/top-products?limit=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     @DisplayName("GET /api/franchises/{franchiseId} - Should get franchise by id")
     void shouldGetFranchiseById() {
@@ -263,6 +409,39 @@ class FranchiseControllerTest {
                 .expectStatus().isNotFound();
     }
 
+    @Test
+    @DisplayName("GET /api/franchises/{franchiseId}?view=branches - Should return the branches read model")
+    void shouldGetFranchiseBranchesView() {
+        // Given
+        FranchiseSummary summary = FranchiseSummary.builder()
+                .id("franchise-1")
+                .name("Tech Store")
+                .branches(List.of(new BranchSummary("branch-1", "Downtown")))
+                .build();
+        when(getFranchiseUseCase.getFranchiseSummary("franchise-1", FranchiseView.BRANCHES))
+                .thenReturn(Mono.just(summary));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franchises/franchise-1?view=branches")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Tech Store")
+                .jsonPath("$.branches[0].name").isEqualTo("Downtown")
+                .jsonPath("$.branches[0].products").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("GET /api/franchises?view=unknown - Should return 400 for an unknown view")
+    void shouldReturn400ForUnknownView() {
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franchises?view=unknown")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     @DisplayName("GET /api/franchises - Should get all franchises")
     void shouldGetAllFranchises() {
@@ -284,6 +463,131 @@ class FranchiseControllerTest {
                 .hasSize(2);
     }
 
+    @Test
+    @DisplayName("GET /api/franchises - Should stream franchises as NDJSON when requested")
+    void shouldStreamFranchisesAsNdjson() {
+        // Given
+        Franchise franchise2 = Franchise.builder().id("franchise-2").name("Another Store").build();
+        when(getFranchiseUseCase.getAllFranchises()).thenReturn(Flux.just(testFranchise, franchise2));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franchises")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .value(body -> assertEquals(2, body.lines().filter(line -> !line.isBlank()).count()));
+    }
+
+    @Test
+    @DisplayName("GET /api/franchises/{franchiseId}/top-products - Should stream top products as server-sent events")
+    void shouldStreamTopProductsAsServerSentEvents() {
+        // Given
+        when(getTopProductsByBranchUseCase.getTopProductsByBranch("franchise-1", 1))
+                .thenReturn(Flux.just(TopProduct.builder()
+                        .branchId("branch-1").branchName("Downtown")
+                        .productId("prod-1").productName("Laptop").stock(50)
+                        .build()));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franchises/franchise-1/top-products")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(TopProductResponse.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNextMatches(top -> top.getProductId().equals("prod-1") && top.getStock() == 50)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("GET /api/franchises/{franchiseId}/stream - Should stream header and branches as NDJSON")
+    void shouldStreamFranchiseChunks() {
+        // Given
+        Branch branch = Branch.builder().id("branch-1").name("Downtown").build();
+        when(getFranchiseUseCase.streamFranchise("franchise-1", false))
+                .thenReturn(Flux.just(
+                        FranchiseStreamEvent.header(FranchiseSummary.builder().id("franchise-1").name("Tech Store").build()),
+                        FranchiseStreamEvent.branch("franchise-1", branch)));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franchises/franchise-1/stream?products=false")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(FranchiseStreamEvent.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNextMatches(event -> event.getType() == FranchiseStreamEvent.Type.FRANCHISE)
+                .expectNextMatches(event -> event.getBranch().getName().equals("Downtown"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("GET /api/franchises/page - Should return a page with its continuation cursor")
+    void shouldGetFranchisesPage() {
+        // Given
+        FranchisePage page = FranchisePage.builder()
+                .items(List.of(testFranchise))
+                .nextCursor("next-token")
+                .build();
+        when(getFranchiseUseCase.getFranchisesPage("Tech", "token", 1))
+                .thenReturn(Mono.just(page));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/franchises/page?namePrefix=Tech&cursor=token&size=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].id").isEqualTo("franchise-1")
+                .jsonPath("$.nextCursor").isEqualTo("next-token");
+    }
+
+    @Test
+    @DisplayName("POST /api/franchises/batch - Should return franchises in request order with not-found markers")
+    void shouldGetFranchisesByIds() {
+        // Given
+        FranchiseBatchRequest request = new FranchiseBatchRequest(List.of("franchise-1", "missing"));
+        when(getFranchiseUseCase.getFranchisesByIds(List.of("franchise-1", "missing")))
+                .thenReturn(Flux.just(FranchiseLookup.of(testFranchise), FranchiseLookup.missing("missing")));
+
+        // When & Then
+        webTestClient.post()
+                .uri("/api/franchises/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("franchise-1")
+                .jsonPath("$[0].found").isEqualTo(true)
+                .jsonPath("$[0].franchise.name").isEqualTo("Tech Store")
+                .jsonPath("$[1].id").isEqualTo("missing")
+                .jsonPath("$[1].found").isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("POST /api/franchises/batch - Should return 400 when no ids are given")
+    void shouldReturn400WhenBatchIsEmpty() {
+        // Given
+        FranchiseBatchRequest request = new FranchiseBatchRequest(List.of());
+
+        // When & Then
+        webTestClient.post()
+                .uri("/api/franchises/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     @DisplayName("PATCH /api/franchises/{franchiseId}/name - Should update franchise name")
     void shouldUpdateFranchiseName() {
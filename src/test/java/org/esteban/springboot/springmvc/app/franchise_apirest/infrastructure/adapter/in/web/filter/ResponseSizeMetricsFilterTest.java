@@ -0,0 +1,76 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.in.web.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Response Size Metrics Filter Tests")
+class ResponseSizeMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseSizeMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ResponseSizeMetricsFilter(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should record the bytes written, tagged with the route template")
+    void shouldRecordBytesWritten() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/franchises/abc"));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, filtered -> {
+                    filtered.getAttributes().put(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                            PathPatternParser.defaultInstance.parse("/api/franchises/{id}"));
+                    return filtered.getResponse().writeWith(Flux.just(buffer("{\"id\":"), buffer("\"abc\"}")));
+                }))
+                .verifyComplete();
+
+        // Then
+        DistributionSummary summary = meterRegistry.get("http.server.response.size")
+                .tag("method", "GET")
+                .tag("uri", "/api/franchises/{id}")
+                .tag("status", "200")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(12.0, summary.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should count every chunk of a flushed stream")
+    void shouldCountFlushedChunks() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/unmapped"));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, filtered -> filtered.getResponse()
+                        .writeAndFlushWith(Flux.just(Flux.just(buffer("abcd")), Flux.just(buffer("ef"))))))
+                .verifyComplete();
+
+        // Then
+        DistributionSummary summary = meterRegistry.get("http.server.response.size").tag("uri", "UNKNOWN").summary();
+        assertEquals(6.0, summary.totalAmount());
+    }
+
+    private static DataBuffer buffer(String text) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,252 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ConcurrentUpdateException;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Caching Franchise Repository Tests")
+class CachingFranchiseRepositoryTest {
+
+    @Mock
+    private FranchiseRepositoryPort delegate;
+
+    private Cache<String, Franchise> cache;
+    private CachingFranchiseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder().build();
+        repository = new CachingFranchiseRepository(delegate, cache);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Given
+        when(delegate.findById("franchise-1")).thenReturn(Mono.just(franchise(1L, 10)));
+
+        // When & Then
+        StepVerifier.create(repository.findById("franchise-1").then(repository.findById("franchise-1")))
+                .expectNextMatches(f -> f.getId().equals("franchise-1"))
+                .verifyComplete();
+
+        verify(delegate, times(1)).findById("franchise-1");
+    }
+
+    @Test
+    @DisplayName("Should return private copies of cached franchises")
+    void shouldReturnPrivateCopies() {
+        // Given
+        cache.put("franchise-1", franchise(1L, 10));
+
+        // When
+        Franchise first = repository.findById("franchise-1").block();
+        first.getBranches().get(0).getProducts().get(0).updateStock(99);
+
+        // Then
+        StepVerifier.create(repository.findById("franchise-1"))
+                .expectNextMatches(f -> f.getBranches().get(0).getProducts().get(0).getStock() == 10)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should refresh the cached entry with the result of a targeted write")
+    void shouldRefreshEntryAfterWrite() {
+        // Given
+        cache.put("franchise-1", franchise(1L, 10));
+        when(delegate.updateProductStock("franchise-1", "branch-1", "product-1", 25))
+                .thenReturn(Mono.just(franchise(2L, 25)));
+
+        // When & Then
+        StepVerifier.create(repository.updateProductStock("franchise-1", "branch-1", "product-1", 25))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(2L, cache.getIfPresent("franchise-1").getVersion());
+        assertEquals(25, cache.getIfPresent("franchise-1").getBranches().get(0).getProducts().get(0).getStock());
+    }
+
+    @Test
+    @DisplayName("Should not replace a cached entry with an older version")
+    void shouldNotReplaceWithOlderVersion() {
+        // Given
+        cache.put("franchise-1", franchise(3L, 30));
+        when(delegate.save(any())).thenReturn(Mono.just(franchise(2L, 20)));
+
+        // When
+        repository.save(franchise(1L, 20)).block();
+
+        // Then
+        assertEquals(3L, cache.getIfPresent("franchise-1").getVersion());
+    }
+
+    @Test
+    @DisplayName("Should invalidate the entry when a targeted write matches nothing")
+    void shouldInvalidateWhenWriteMatchesNothing() {
+        // Given
+        cache.put("franchise-1", franchise(1L, 10));
+        when(delegate.removeProduct("franchise-1", "branch-1", "product-1")).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(repository.removeProduct("franchise-1", "branch-1", "product-1"))
+                .verifyComplete();
+
+        assertNull(cache.getIfPresent("franchise-1"));
+    }
+
+    @Test
+    @DisplayName("Should invalidate the entry on a concurrent update conflict")
+    void shouldInvalidateOnConflict() {
+        // Given
+        Franchise stale = franchise(1L, 10);
+        cache.put("franchise-1", stale);
+        when(delegate.save(stale)).thenReturn(Mono.error(new ConcurrentUpdateException("conflict", null)));
+
+        // When & Then
+        StepVerifier.create(repository.save(stale))
+                .expectError(ConcurrentUpdateException.class)
+                .verify();
+
+        assertNull(cache.getIfPresent("franchise-1"));
+    }
+
+    @Test
+    @DisplayName("Should invalidate every franchise touched by a bulk stock update before its results are emitted")
+    void shouldInvalidateBulkUpdatedFranchises() {
+        // Given
+        cache.put("franchise-1", franchise(1L, 10));
+        cache.put("franchise-2", franchise(1L, 10));
+        FranchiseStockUpdate update = new FranchiseStockUpdate("franchise-1", "branch-1", "product-1", 5);
+        when(delegate.bulkUpdateProductStocks(List.of(update))).thenReturn(Flux.just(StockUpdateResult.ok(update)));
+
+        // When & Then
+        StepVerifier.create(repository.bulkUpdateProductStocks(List.of(update)))
+                .assertNext(result -> assertNull(cache.getIfPresent("franchise-1")))
+                .verifyComplete();
+
+        assertNotNull(cache.getIfPresent("franchise-2"));
+    }
+
+    @Test
+    @DisplayName("Should invalidate the entry on delete")
+    void shouldInvalidateOnDelete() {
+        // Given
+        cache.put("franchise-1", franchise(1L, 10));
+        when(delegate.deleteById("franchise-1")).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(repository.deleteById("franchise-1"))
+                .verifyComplete();
+
+        assertNull(cache.getIfPresent("franchise-1"));
+    }
+
+    @Test
+    @DisplayName("Should compute top products from a cached franchise")
+    void shouldComputeTopProductsFromCache() {
+        // Given
+        cache.put("franchise-1", franchise(1L, 10));
+
+        // When & Then
+        StepVerifier.create(repository.findTopProductsByBranch("franchise-1", 1))
+                .expectNextMatches(top -> top.getBranchId().equals("branch-1")
+                        && top.getProductId().equals("product-1")
+                        && top.getStock() == 10)
+                .verifyComplete();
+
+        verify(delegate, never()).findTopProductsByBranch(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should answer existence checks from the cache")
+    void shouldAnswerExistsFromCache() {
+        // Given
+        cache.put("franchise-1", franchise(1L, 10));
+
+        // When & Then
+        StepVerifier.create(repository.existsById("franchise-1"))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(delegate, never()).existsById(anyString());
+    }
+
+    @Test
+    @DisplayName("Should only query the delegate for ids missing from the cache in a batch lookup")
+    void shouldQueryOnlyMissesInBatchLookup() {
+        // Given
+        cache.put("franchise-1", franchise(1L, 10));
+        Franchise other = Franchise.builder().id("franchise-2").name("Other").version(1L).build();
+        when(delegate.findAllById(List.of("franchise-2"))).thenReturn(Flux.just(other));
+
+        // When & Then
+        StepVerifier.create(repository.findAllById(List.of("franchise-1", "franchise-2")))
+                .expectNextMatches(f -> f.getId().equals("franchise-1"))
+                .expectNextMatches(f -> f.getId().equals("franchise-2"))
+                .verifyComplete();
+
+        assertNotNull(cache.getIfPresent("franchise-2"));
+    }
+
+    private Franchise franchise(Long version, int stock) {
+        Branch branch = Branch.builder().id("branch-1").name("Downtown").build();
+        branch.addProduct(Product.builder().id("product-1").name("Laptop").stock(stock).build());
+        Franchise franchise = Franchise.builder().id("franchise-1").name("Tech Store").version(version).build();
+        franchise.addBranch(branch);
+        return franchise;
+    }
+
+    @Test
+    @DisplayName("Should build summaries from a cached franchise without querying the delegate")
+    void shouldBuildSummaryFromCache() {
+        // Given
+        cache.put("franchise-1", franchise(1L, 10));
+
+        // When & Then
+        StepVerifier.create(repository.findSummaryById("franchise-1", true))
+                .expectNextMatches(summary -> summary.getBranches().size() == 1
+                        && summary.getBranches().get(0).getName().equals("Downtown"))
+                .verifyComplete();
+
+        verify(delegate, never()).findSummaryById(anyString(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should stream branches of a cached franchise without products when not requested")
+    void shouldStreamCachedBranchesWithoutProducts() {
+        // Given
+        cache.put("franchise-1", franchise(1L, 10));
+
+        // When & Then
+        StepVerifier.create(repository.streamBranches("franchise-1", false))
+                .expectNextMatches(branch -> branch.getId().equals("branch-1") && branch.getProducts().isEmpty())
+                .verifyComplete();
+
+        assertEquals(1, cache.getIfPresent("franchise-1").getBranches().get(0).getProducts().size());
+    }
+}
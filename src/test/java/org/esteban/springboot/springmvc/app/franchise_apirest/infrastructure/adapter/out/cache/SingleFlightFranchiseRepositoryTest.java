@@ -0,0 +1,122 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Single-Flight Franchise Repository Tests")
+class SingleFlightFranchiseRepositoryTest {
+
+    @Mock
+    private FranchiseRepositoryPort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlightFranchiseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new SingleFlightFranchiseRepository(delegate, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should share one query between concurrent reads of the same id")
+    void shouldShareInFlightQuery() {
+        // Given
+        Sinks.One<Franchise> pending = Sinks.one();
+        when(delegate.findById("franchise-1")).thenReturn(pending.asMono());
+
+        // When
+        Mono<Franchise> first = repository.findById("franchise-1").cache();
+        Mono<Franchise> second = repository.findById("franchise-1").cache();
+        first.subscribe();
+        second.subscribe();
+        pending.tryEmitValue(franchise());
+
+        // Then
+        Franchise a = first.block();
+        Franchise b = second.block();
+        assertEquals("franchise-1", a.getId());
+        assertEquals("franchise-1", b.getId());
+        assertNotSame(a, b);
+        assertEquals(1L, repository.getCollapsedCount());
+        assertEquals(1.0, meterRegistry.counter("franchise.reads.collapsed").count());
+        verify(delegate, times(1)).findById("franchise-1");
+    }
+
+    @Test
+    @DisplayName("Should start a new query once the previous one completed")
+    void shouldStartNewQueryAfterCompletion() {
+        // Given
+        when(delegate.findById("franchise-1")).thenReturn(Mono.just(franchise()));
+
+        // When
+        repository.findById("franchise-1").block();
+        repository.findById("franchise-1").block();
+
+        // Then
+        verify(delegate, times(2)).findById("franchise-1");
+        assertEquals(0L, repository.getCollapsedCount());
+    }
+
+    @Test
+    @DisplayName("Should complete empty for every subscriber when the franchise does not exist")
+    void shouldCompleteEmptyWhenMissing() {
+        // Given
+        when(delegate.findById("missing")).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(repository.findById("missing"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should propagate errors to every joined subscriber")
+    void shouldPropagateErrors() {
+        // Given
+        Sinks.One<Franchise> pending = Sinks.one();
+        when(delegate.findById("franchise-1")).thenReturn(pending.asMono());
+        Mono<Franchise> first = repository.findById("franchise-1");
+        Mono<Franchise> second = repository.findById("franchise-1");
+
+        // When & Then
+        StepVerifier.create(first.zipWith(second))
+                .then(() -> pending.tryEmitError(new IllegalStateException("boom")))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should not let a write join a read that started before it")
+    void shouldDetachInFlightReadOnWrite() {
+        // Given
+        Sinks.One<Franchise> pending = Sinks.one();
+        when(delegate.findById("franchise-1")).thenReturn(pending.asMono(), Mono.just(franchise()));
+        when(delegate.updateBranchName("franchise-1", "branch-1", "North")).thenReturn(Mono.just(franchise()));
+        repository.findById("franchise-1").subscribe();
+
+        // When
+        repository.updateBranchName("franchise-1", "branch-1", "North").block();
+        repository.findById("franchise-1").block();
+
+        // Then
+        verify(delegate, times(2)).findById("franchise-1");
+    }
+
+    private Franchise franchise() {
+        return Franchise.builder().id("franchise-1").name("Tech Store").version(1L).build();
+    }
+}
@@ -0,0 +1,219 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Coalescing Stock Franchise Repository Tests")
+class CoalescingStockFranchiseRepositoryTest {
+
+    @Mock
+    private FranchiseRepositoryPort delegate;
+
+    private VirtualTimeScheduler scheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescingStockFranchiseRepository repository;
+    private final List<List<StockUpdate>> writes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new CoalescingStockFranchiseRepository(delegate, scheduler,
+                Duration.ofMillis(2), Duration.ofMillis(5), 3, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should write updates buffered within the flush latency once, last stock per product winning")
+    void shouldCoalesceUpdatesIntoOneWrite() {
+        // Given
+        writesReturn(franchise("prod-1", "prod-2"));
+        List<Franchise> acknowledged = new ArrayList<>();
+
+        // When
+        repository.updateProductStock("franchise-1", "branch-1", "prod-1", 5).subscribe(acknowledged::add);
+        repository.updateProductStock("franchise-1", "branch-1", "prod-2", 7).subscribe(acknowledged::add);
+        repository.updateProductStock("franchise-1", "branch-1", "prod-1", 9).subscribe(acknowledged::add);
+        scheduler.advanceTimeBy(Duration.ofMillis(1));
+        assertTrue(writes.isEmpty());
+        scheduler.advanceTimeBy(Duration.ofMillis(1));
+
+        // Then
+        assertEquals(List.of(List.of(
+                new StockUpdate("branch-1", "prod-1", 9),
+                new StockUpdate("branch-1", "prod-2", 7))), writes);
+        assertEquals(3, acknowledged.size());
+        assertEquals(3.0, meterRegistry.summary("franchise.stock.flush.callers").totalAmount());
+        assertEquals(2.0, meterRegistry.summary("franchise.stock.flush.products").totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should flush at max staleness even while updates keep arriving")
+    void shouldFlushAtMaxStaleness() {
+        // Given
+        writesReturn(franchise("prod-1"));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            repository.updateProductStock("franchise-1", "branch-1", "prod-1", i).subscribe();
+            scheduler.advanceTimeBy(Duration.ofMillis(1));
+        }
+
+        // Then
+        assertEquals(1, writes.size());
+        assertEquals(List.of(new StockUpdate("branch-1", "prod-1", 4)), writes.get(0));
+    }
+
+    @Test
+    @DisplayName("Should flush without waiting once the batch holds max-batch-size products")
+    void shouldFlushFullBatchImmediately() {
+        // Given
+        writesReturn(franchise("prod-1", "prod-2", "prod-3"));
+
+        // When
+        repository.updateProductStock("franchise-1", "branch-1", "prod-1", 1).subscribe();
+        repository.updateProductStock("franchise-1", "branch-1", "prod-2", 2).subscribe();
+        repository.updateProductStock("franchise-1", "branch-1", "prod-3", 3).subscribe();
+
+        // Then
+        assertEquals(1, writes.size());
+        assertEquals(3, writes.get(0).size());
+    }
+
+    @Test
+    @DisplayName("Should hold updates that arrive during a write for the next one")
+    void shouldNotOverlapWritesOfOneFranchise() {
+        // Given
+        Sinks.One<Franchise> firstWrite = Sinks.one();
+        when(delegate.updateProductStocks(eq("franchise-1"), anyList()))
+                .thenAnswer(invocation -> {
+                    writes.add(invocation.getArgument(1));
+                    return firstWrite.asMono();
+                })
+                .thenAnswer(invocation -> {
+                    writes.add(invocation.getArgument(1));
+                    return Mono.just(franchise("prod-1"));
+                });
+        repository.updateProductStock("franchise-1", "branch-1", "prod-1", 1).subscribe();
+        scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+        // When
+        repository.updateProductStock("franchise-1", "branch-1", "prod-1", 2).subscribe();
+        scheduler.advanceTimeBy(Duration.ofMillis(10));
+        assertEquals(1, writes.size());
+        firstWrite.tryEmitValue(franchise("prod-1"));
+        scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+        // Then
+        assertEquals(List.of(
+                List.of(new StockUpdate("branch-1", "prod-1", 1)),
+                List.of(new StockUpdate("branch-1", "prod-1", 2))), writes);
+    }
+
+    @Test
+    @DisplayName("Should complete empty for a missing product and fail every caller when the write fails")
+    void shouldSignalMissingProductsAndFailures() {
+        // Given
+        when(delegate.updateProductStocks(eq("franchise-1"), anyList()))
+                .thenReturn(Mono.just(franchise("prod-1")))
+                .thenReturn(Mono.error(new IllegalStateException("down")));
+        List<Object> signals = new ArrayList<>();
+
+        // When
+        repository.updateProductStock("franchise-1", "branch-1", "prod-1", 1)
+                .map(Object.class::cast).defaultIfEmpty("empty").subscribe(signals::add);
+        repository.updateProductStock("franchise-1", "branch-1", "missing", 1)
+                .map(Object.class::cast).defaultIfEmpty("empty").subscribe(signals::add);
+        scheduler.advanceTimeBy(Duration.ofMillis(2));
+        repository.updateProductStock("franchise-1", "branch-1", "prod-1", 2).subscribe(signals::add, signals::add);
+        scheduler.advanceTimeBy(Duration.ofMillis(2));
+
+        // Then
+        assertInstanceOf(Franchise.class, signals.get(0));
+        assertEquals("empty", signals.get(1));
+        assertInstanceOf(IllegalStateException.class, signals.get(2));
+    }
+
+    @Test
+    @DisplayName("Should write buffered stocks before a relative adjustment of the same franchise")
+    void shouldFlushBufferedStocksBeforeAdjusting() {
+        // Given
+        writesReturn(franchise("prod-1"));
+        when(delegate.adjustProductStock("franchise-1", "branch-1", "prod-1", -1))
+                .thenReturn(Mono.just(franchise("prod-1")));
+        repository.updateProductStock("franchise-1", "branch-1", "prod-1", 10).subscribe();
+
+        // When
+        Franchise adjusted = repository.adjustProductStock("franchise-1", "branch-1", "prod-1", -1).block();
+
+        // Then
+        assertNotNull(adjusted);
+        InOrder order = inOrder(delegate);
+        order.verify(delegate).updateProductStocks("franchise-1", List.of(new StockUpdate("branch-1", "prod-1", 10)));
+        order.verify(delegate).adjustProductStock("franchise-1", "branch-1", "prod-1", -1);
+    }
+
+    @Test
+    @DisplayName("Should hold a bulk write until the in-flight stock write of its franchises completes")
+    void shouldWaitForInFlightWriteBeforeBulkUpdate() {
+        // Given
+        Sinks.One<Franchise> inFlight = Sinks.one();
+        when(delegate.updateProductStocks(eq("franchise-1"), anyList())).thenReturn(inFlight.asMono());
+        FranchiseStockUpdate update = new FranchiseStockUpdate("franchise-1", "branch-1", "prod-1", 3);
+        when(delegate.bulkUpdateProductStocks(List.of(update))).thenReturn(Flux.just(StockUpdateResult.ok(update)));
+        repository.updateProductStock("franchise-1", "branch-1", "prod-1", 10).subscribe();
+        scheduler.advanceTimeBy(Duration.ofMillis(2));
+        List<StockUpdateResult> results = new ArrayList<>();
+
+        // When
+        repository.bulkUpdateProductStocks(List.of(update)).subscribe(results::add);
+        verify(delegate, never()).bulkUpdateProductStocks(anyList());
+        inFlight.tryEmitValue(franchise("prod-1"));
+
+        // Then
+        assertEquals(List.of(StockUpdateResult.ok(update)), results);
+    }
+
+    private void writesReturn(Franchise franchise) {
+        when(delegate.updateProductStocks(eq("franchise-1"), anyList())).thenAnswer(invocation -> {
+            writes.add(invocation.getArgument(1));
+            return Mono.just(franchise);
+        });
+    }
+
+    private static Franchise franchise(String... productIds) {
+        Branch branch = Branch.builder().id("branch-1").name("Main").build();
+        for (String productId : productIds) {
+            branch.addProduct(Product.builder().id(productId).name(productId).stock(0).build());
+        }
+        Franchise franchise = Franchise.builder().id("franchise-1").name("Tech Store").version(1L).build();
+        franchise.addBranch(branch);
+        return franchise;
+    }
+}
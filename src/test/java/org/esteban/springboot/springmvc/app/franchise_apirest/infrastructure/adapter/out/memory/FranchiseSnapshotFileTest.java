@@ -0,0 +1,64 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.memory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Franchise Snapshot File Tests")
+class FranchiseSnapshotFileTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should write the store on stop and restore it on start")
+    void shouldRoundTripThroughDisk() {
+        // Given
+        Path path = directory.resolve("data/franchises.json");
+        InMemoryFranchiseRepositoryAdapter source = new InMemoryFranchiseRepositoryAdapter();
+        Franchise franchise = Franchise.builder().name("Tech Store").build();
+        Branch branch = Branch.builder().id("branch-1").name("Main").build();
+        branch.addProduct(Product.builder().id("prod-1").name("Laptop").stock(50).build());
+        franchise.addBranch(branch);
+        Franchise saved = source.save(franchise).block();
+        source.updateProductStock(saved.getId(), "branch-1", "prod-1", 9).block();
+
+        // When
+        FranchiseSnapshotFile writer = new FranchiseSnapshotFile(source, new ObjectMapper(), path, Duration.ofHours(1));
+        writer.start();
+        writer.stop();
+
+        InMemoryFranchiseRepositoryAdapter target = new InMemoryFranchiseRepositoryAdapter();
+        new FranchiseSnapshotFile(target, new ObjectMapper(), path, Duration.ofHours(1)).restore();
+
+        // Then
+        assertTrue(Files.exists(path));
+        Franchise restored = target.findById(saved.getId()).block();
+        assertEquals(1L, restored.getVersion());
+        assertEquals(9, restored.getBranches().get(0).getProducts().get(0).getStock());
+    }
+
+    @Test
+    @DisplayName("Should start empty when there is no snapshot yet")
+    void shouldStartEmptyWithoutFile() {
+        // Given
+        InMemoryFranchiseRepositoryAdapter repository = new InMemoryFranchiseRepositoryAdapter();
+
+        // When
+        new FranchiseSnapshotFile(repository, new ObjectMapper(), directory.resolve("none.json"), Duration.ofHours(1))
+                .restore();
+
+        // Then
+        assertTrue(repository.snapshots().isEmpty());
+    }
+}
@@ -0,0 +1,231 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.memory;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ConcurrentUpdateException;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseStockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdate;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.StockUpdateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("In-Memory Franchise Repository Adapter Tests")
+class InMemoryFranchiseRepositoryAdapterTest {
+
+    private InMemoryFranchiseRepositoryAdapter repository;
+    private Franchise stored;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryFranchiseRepositoryAdapter();
+        Franchise franchise = Franchise.builder().name("Tech Store").build();
+        Branch branch = Branch.builder().id("branch-1").name("Main").build();
+        branch.addProduct(Product.builder().id("prod-1").name("Laptop").stock(50).build());
+        franchise.addBranch(branch);
+        franchise.addBranch(Branch.builder().id("branch-2").name("Outlet").build());
+        stored = repository.save(franchise).block();
+    }
+
+    @Test
+    @DisplayName("Should assign an id and version 0 to a new franchise")
+    void shouldInsertNewFranchise() {
+        // Then
+        assertNotNull(stored.getId());
+        assertEquals(0L, stored.getVersion());
+        StepVerifier.create(repository.findById(stored.getId()))
+                .assertNext(found -> assertEquals(stored, found))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should hand out copies that do not change the stored franchise")
+    void shouldIsolateReturnedCopies() {
+        // Given
+        Franchise read = repository.findById(stored.getId()).block();
+
+        // When
+        read.setName("Changed");
+        read.getBranches().get(0).getProducts().get(0).updateStock(1);
+
+        // Then
+        Franchise again = repository.findById(stored.getId()).block();
+        assertEquals("Tech Store", again.getName());
+        assertEquals(50, again.getBranches().get(0).getProducts().get(0).getStock());
+    }
+
+    @Test
+    @DisplayName("Should save the version that was read and reject a stale one")
+    void shouldCheckVersionOnSave() {
+        // Given
+        Franchise first = repository.findById(stored.getId()).block();
+        Franchise second = repository.findById(stored.getId()).block();
+        first.setName("First");
+        second.setName("Second");
+
+        // When / Then
+        StepVerifier.create(repository.save(first))
+                .assertNext(saved -> assertEquals(1L, saved.getVersion()))
+                .verifyComplete();
+        StepVerifier.create(repository.save(second))
+                .verifyError(ConcurrentUpdateException.class);
+    }
+
+    @Test
+    @DisplayName("Should update a product in place and bump the version")
+    void shouldUpdateProductStock() {
+        // When / Then
+        StepVerifier.create(repository.updateProductStock(stored.getId(), "branch-1", "prod-1", 7))
+                .assertNext(updated -> {
+                    assertEquals(1L, updated.getVersion());
+                    assertEquals(7, updated.findBranchById("branch-1").orElseThrow()
+                            .findProductById("prod-1").orElseThrow().getStock());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should rename the franchise and bump its version")
+    void shouldRenameFranchise() {
+        // When
+        Franchise renamed = repository.updateFranchiseName(stored.getId(), "Renamed").block();
+
+        // Then
+        assertEquals("Renamed", renamed.getName());
+        assertEquals(1L, renamed.getVersion());
+        assertEquals(stored.countProducts(), renamed.countProducts());
+        StepVerifier.create(repository.updateFranchiseName("missing", "Renamed"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should never oversell under concurrent decrements")
+    void shouldNotOversellUnderConcurrentDecrements() {
+        // When
+        List<Franchise> sold = Flux.range(0, 80)
+                .parallel(4)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> repository.adjustProductStock(stored.getId(), "branch-1", "prod-1", -1))
+                .sequential()
+                .collectList()
+                .block();
+
+        // Then
+        assertEquals(50, sold.size());
+        assertEquals(0, repository.findById(stored.getId()).block()
+                .findBranchById("branch-1").orElseThrow().findProductById("prod-1").orElseThrow().getStock());
+    }
+
+    @Test
+    @DisplayName("Should set several stocks in one write and skip missing products")
+    void shouldUpdateProductStocks() {
+        // Given
+        List<StockUpdate> updates = List.of(
+                new StockUpdate("branch-1", "prod-1", 7),
+                new StockUpdate("branch-1", "missing", 3),
+                new StockUpdate("branch-1", "prod-1", 9));
+
+        // When / Then
+        StepVerifier.create(repository.updateProductStocks(stored.getId(), updates))
+                .assertNext(updated -> {
+                    assertEquals(1L, updated.getVersion());
+                    assertEquals(9, updated.findBranchById("branch-1").orElseThrow()
+                            .findProductById("prod-1").orElseThrow().getStock());
+                })
+                .verifyComplete();
+        StepVerifier.create(repository.updateProductStocks("missing", updates))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should report every bulk update in order, writing only products that exist")
+    void shouldBulkUpdateProductStocks() {
+        // Given
+        List<FranchiseStockUpdate> updates = List.of(
+                new FranchiseStockUpdate(stored.getId(), "branch-1", "prod-1", 12),
+                new FranchiseStockUpdate("missing", "branch-1", "prod-1", 3),
+                new FranchiseStockUpdate(stored.getId(), "branch-2", "prod-1", 4));
+
+        // When / Then
+        StepVerifier.create(repository.bulkUpdateProductStocks(updates).map(StockUpdateResult::getStatus))
+                .expectNext(StockUpdateResult.Status.OK, StockUpdateResult.Status.NOT_FOUND,
+                        StockUpdateResult.Status.NOT_FOUND)
+                .verifyComplete();
+        Franchise updated = repository.findById(stored.getId()).block();
+        assertEquals(1L, updated.getVersion());
+        assertEquals(12, updated.findBranchById("branch-1").orElseThrow().findProductById("prod-1").orElseThrow().getStock());
+    }
+
+    @Test
+    @DisplayName("Should return empty and leave the franchise untouched when the target is missing")
+    void shouldReturnEmptyForMissingTarget() {
+        // When / Then
+        StepVerifier.create(repository.updateProductStock(stored.getId(), "branch-1", "missing", 7))
+                .verifyComplete();
+        StepVerifier.create(repository.updateBranchName("missing", "branch-1", "Name"))
+                .verifyComplete();
+        assertEquals(0L, repository.findById(stored.getId()).block().getVersion());
+    }
+
+    @Test
+    @DisplayName("Should apply concurrent updates to one franchise without losing any")
+    void shouldLinearizeConcurrentUpdates() {
+        // Given
+        int writers = 200;
+        AtomicInteger sequence = new AtomicInteger();
+
+        // When
+        Flux.range(0, writers)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> repository.addProduct(stored.getId(), i % 2 == 0 ? "branch-1" : "branch-2",
+                        Product.builder().id("new-" + sequence.incrementAndGet()).name("New").stock(i).build()))
+                .sequential()
+                .blockLast();
+
+        // Then
+        Franchise result = repository.findById(stored.getId()).block();
+        assertEquals(writers, result.getVersion());
+        assertEquals(writers + 1, result.countProducts());
+    }
+
+    @Test
+    @DisplayName("Should not let a write bring a deleted franchise back")
+    void shouldKeepDeletedFranchiseDeleted() {
+        // When
+        repository.deleteById(stored.getId()).block();
+
+        // Then
+        StepVerifier.create(repository.updateBranchName(stored.getId(), "branch-1", "Back"))
+                .verifyComplete();
+        StepVerifier.create(repository.save(stored))
+                .verifyError(ConcurrentUpdateException.class);
+        assertFalse(repository.existsById(stored.getId()).block());
+    }
+
+    @Test
+    @DisplayName("Should restore snapshots as stored franchises")
+    void shouldRestoreSnapshots() {
+        // Given
+        InMemoryFranchiseRepositoryAdapter restored = new InMemoryFranchiseRepositoryAdapter();
+
+        // When
+        restored.restore(repository.snapshots());
+
+        // Then
+        StepVerifier.create(restored.findById(stored.getId()))
+                .assertNext(found -> assertEquals(stored, found))
+                .verifyComplete();
+        assertEquals(List.of("prod-1"), restored.findTopProductsByBranch(stored.getId(), 3)
+                .map(top -> top.getProductId()).collectList().block());
+    }
+}
@@ -0,0 +1,103 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Metered Franchise Repository Tests")
+class MeteredFranchiseRepositoryTest {
+
+    @Mock
+    private FranchiseRepositoryPort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MeteredFranchiseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new MeteredFranchiseRepository(delegate, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should time the call and record the shape of the franchise read")
+    void shouldTimeReadAndRecordShape() {
+        // Given
+        when(delegate.findById("franchise-1")).thenReturn(Mono.just(franchise(2, 3)));
+
+        // When
+        StepVerifier.create(repository.findById("franchise-1"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Then
+        assertEquals(1, meterRegistry.get("franchise.repository")
+                .tag("op", "findById").tag("outcome", "success").timer().count());
+        DistributionSummary branches = meterRegistry.get("franchise.document.branches").summary();
+        DistributionSummary products = meterRegistry.get("franchise.document.products").summary();
+        assertEquals(2.0, branches.totalAmount());
+        assertEquals(6.0, products.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should record one shape per franchise in a stream")
+    void shouldRecordShapePerStreamedFranchise() {
+        // Given
+        when(delegate.findAll()).thenReturn(Flux.just(franchise(1, 1), franchise(3, 0)));
+
+        // When
+        StepVerifier.create(repository.findAll())
+                .expectNextCount(2)
+                .verifyComplete();
+
+        // Then
+        DistributionSummary branches = meterRegistry.get("franchise.document.branches").summary();
+        assertEquals(2, branches.count());
+        assertEquals(3.0, branches.max());
+    }
+
+    @Test
+    @DisplayName("Should tag a failed call as error without recording a shape")
+    void shouldTagFailedCall() {
+        // Given
+        when(delegate.updateProductStock("franchise-1", "branch-1", "prod-1", 5))
+                .thenReturn(Mono.error(new IllegalStateException("down")));
+
+        // When
+        StepVerifier.create(repository.updateProductStock("franchise-1", "branch-1", "prod-1", 5))
+                .verifyError(IllegalStateException.class);
+
+        // Then
+        assertEquals(1, meterRegistry.get("franchise.repository")
+                .tag("op", "updateProductStock").tag("outcome", "error").timer().count());
+        assertEquals(0, meterRegistry.get("franchise.document.products").summary().count());
+    }
+
+    private static Franchise franchise(int branches, int productsPerBranch) {
+        Franchise franchise = Franchise.builder().id("franchise-1").name("Tech Store").build();
+        for (int b = 0; b < branches; b++) {
+            Branch branch = Branch.builder().id("branch-" + b).name("Branch " + b).build();
+            for (int p = 0; p < productsPerBranch; p++) {
+                branch.addProduct(Product.builder().id("prod-" + p).name("Product " + p).stock(p).build());
+            }
+            franchise.addBranch(branch);
+        }
+        return franchise;
+    }
+}
@@ -0,0 +1,163 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.FranchiseEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.repository.FranchiseMongoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Franchise Batch Loader Tests")
+class FranchiseBatchLoaderTest {
+
+    @Mock
+    private FranchiseMongoRepository mongoRepository;
+
+    private FranchiseBatchLoader batchLoader;
+
+    @AfterEach
+    void tearDown() {
+        batchLoader.dispose();
+    }
+
+    @Test
+    @DisplayName("Should resolve distinct ids requested together with one query")
+    @SuppressWarnings("unchecked")
+    void shouldResolveIdsWithOneQuery() {
+        // Given
+        batchLoader = new FranchiseBatchLoader(mongoRepository, 10, Duration.ofMillis(50), 1);
+        when(mongoRepository.findAllById(any(Iterable.class)))
+                .thenReturn(Flux.just(entity("franchise-1"), entity("franchise-2")));
+
+        // When
+        Mono<List<String>> names = Flux.merge(
+                        batchLoader.load("franchise-1"),
+                        batchLoader.load("franchise-2"),
+                        batchLoader.load("franchise-1"))
+                .map(FranchiseEntity::getName)
+                .collectList();
+
+        // Then
+        StepVerifier.create(names)
+                .assertNext(result -> assertEquals(3, result.size()))
+                .verifyComplete();
+
+        ArgumentCaptor<Iterable<String>> ids = ArgumentCaptor.forClass(Iterable.class);
+        verify(mongoRepository, times(1)).findAllById(ids.capture());
+        assertEquals(List.of("franchise-1", "franchise-2"), toList(ids.getValue()));
+    }
+
+    @Test
+    @DisplayName("Should flush a batch as soon as it reaches the maximum size")
+    @SuppressWarnings("unchecked")
+    void shouldFlushFullBatch() {
+        // Given
+        batchLoader = new FranchiseBatchLoader(mongoRepository, 2, Duration.ofSeconds(30), 1);
+        when(mongoRepository.findAllById(any(Iterable.class)))
+                .thenReturn(Flux.just(entity("franchise-1"), entity("franchise-2")));
+
+        // When & Then
+        StepVerifier.create(Flux.merge(batchLoader.load("franchise-1"), batchLoader.load("franchise-2")))
+                .expectNextCount(2)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should complete empty for ids that do not exist")
+    @SuppressWarnings("unchecked")
+    void shouldCompleteEmptyForMissingIds() {
+        // Given
+        batchLoader = new FranchiseBatchLoader(mongoRepository, 10, Duration.ofMillis(10), 1);
+        when(mongoRepository.findAllById(any(Iterable.class))).thenReturn(Flux.empty());
+
+        // When & Then
+        StepVerifier.create(batchLoader.load("missing"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail every caller in a batch when the query fails and keep serving later batches")
+    @SuppressWarnings("unchecked")
+    void shouldFailBatchAndRecover() {
+        // Given
+        batchLoader = new FranchiseBatchLoader(mongoRepository, 10, Duration.ofMillis(10), 1);
+        when(mongoRepository.findAllById(any(Iterable.class)))
+                .thenReturn(Flux.error(new IllegalStateException("connection reset")))
+                .thenReturn(Flux.just(entity("franchise-1")));
+
+        // When & Then
+        StepVerifier.create(batchLoader.load("franchise-1"))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(batchLoader.load("franchise-1"))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep serving loads that arrive while every batch slot is busy with a slow query")
+    @SuppressWarnings("unchecked")
+    void shouldQueueBatchesWhileSlotsAreBusy() {
+        // Given
+        batchLoader = new FranchiseBatchLoader(mongoRepository, 2, Duration.ofMillis(5), 1);
+        when(mongoRepository.findAllById(any(Iterable.class))).thenAnswer(invocation -> {
+            List<String> ids = toList(invocation.getArgument(0));
+            return Flux.fromIterable(ids).map(this::entity).delaySubscription(Duration.ofMillis(50));
+        });
+
+        // When
+        Flux<FranchiseEntity> loads = Flux.range(0, 12)
+                .delayElements(Duration.ofMillis(10))
+                .flatMap(i -> batchLoader.load("franchise-" + i));
+
+        // Then
+        StepVerifier.create(loads)
+                .expectNextCount(12)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(batchLoader.load("franchise-1"))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should query directly once the batching pipeline has been shut down")
+    void shouldFallBackToDirectLookupWhenPipelineIsGone() {
+        // Given
+        batchLoader = new FranchiseBatchLoader(mongoRepository, 10, Duration.ofMillis(10), 1);
+        batchLoader.dispose();
+        when(mongoRepository.findById("franchise-1")).thenReturn(Mono.just(entity("franchise-1")));
+
+        // When & Then
+        StepVerifier.create(batchLoader.load("franchise-1"))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    private FranchiseEntity entity(String id) {
+        return FranchiseEntity.builder().id(id).name("Franchise " + id).build();
+    }
+
+    private List<String> toList(Iterable<String> ids) {
+        List<String> list = new ArrayList<>();
+        ids.forEach(list::add);
+        return list;
+    }
+}
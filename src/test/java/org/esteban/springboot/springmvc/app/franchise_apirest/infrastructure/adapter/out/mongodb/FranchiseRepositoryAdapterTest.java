@@ -0,0 +1,153 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.FranchiseEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.mapper.FranchiseMapper;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.repository.FranchiseMongoRepository;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config.StreamingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Franchise Repository Adapter Tests")
+class FranchiseRepositoryAdapterTest {
+
+    private static final String FRANCHISE_ID = new ObjectId().toHexString();
+    private static final String BRANCH_ID = new ObjectId().toHexString();
+    private static final String PRODUCT_ID = new ObjectId().toHexString();
+
+    @Mock
+    private FranchiseMongoRepository mongoRepository;
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private FranchiseRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new FranchiseRepositoryAdapter(mongoRepository, mongoTemplate, new FranchiseMapper(),
+                Optional.empty(), new StreamingProperties());
+    }
+
+    @Test
+    @DisplayName("Should match ObjectId-shaped branch and product ids in the stock update's array filters")
+    void shouldConvertArrayFilterIdsOnStockUpdate() {
+        // Given
+        ArgumentCaptor<UpdateDefinition> update = stubFindAndModify();
+
+        // When
+        StepVerifier.create(adapter.updateProductStock(FRANCHISE_ID, BRANCH_ID, PRODUCT_ID, 5))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Then
+        assertStoredIdFilters(update.getValue());
+    }
+
+    @Test
+    @DisplayName("Should match ObjectId-shaped branch and product ids in the product rename's array filters")
+    void shouldConvertArrayFilterIdsOnProductRename() {
+        // Given
+        ArgumentCaptor<UpdateDefinition> update = stubFindAndModify();
+
+        // When
+        StepVerifier.create(adapter.updateProductName(FRANCHISE_ID, BRANCH_ID, PRODUCT_ID, "Laptop"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Then
+        assertStoredIdFilters(update.getValue());
+    }
+
+    @Test
+    @DisplayName("Should match ObjectId-shaped branch and product ids in the stock adjustment's array filters")
+    void shouldConvertArrayFilterIdsOnStockAdjustment() {
+        // Given
+        ArgumentCaptor<UpdateDefinition> update = stubFindAndModify();
+
+        // When
+        StepVerifier.create(adapter.adjustProductStock(FRANCHISE_ID, BRANCH_ID, PRODUCT_ID, -3))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Then
+        assertStoredIdFilters(update.getValue());
+    }
+
+    @Test
+    @DisplayName("Should read ObjectId branch and product ids of top products as hex strings")
+    void shouldReadObjectIdsOfTopProducts() {
+        // Given
+        Document row = new Document("branchId", new ObjectId(BRANCH_ID))
+                .append("branchName", "Downtown")
+                .append("top", new Document("_id", new ObjectId(PRODUCT_ID)).append("name", "Laptop").append("stock", 7));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(FranchiseEntity.class), eq(Document.class)))
+                .thenReturn(Flux.just(row));
+
+        // When & Then
+        StepVerifier.create(adapter.findTopProductsByBranch(FRANCHISE_ID, 1))
+                .expectNextMatches(top -> top.getBranchId().equals(BRANCH_ID)
+                        && top.getProductId().equals(PRODUCT_ID)
+                        && top.getStock() == 7)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should rename the franchise with one $set that also bumps its version")
+    void shouldRenameFranchiseAtomically() {
+        // Given
+        ArgumentCaptor<UpdateDefinition> update = stubFindAndModify();
+
+        // When
+        StepVerifier.create(adapter.updateFranchiseName(FRANCHISE_ID, "Renamed"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Then
+        Document document = update.getValue().getUpdateObject();
+        assertEquals(new Document("name", "Renamed"), document.get("$set"));
+        assertEquals(new Document("version", 1), document.get("$inc"));
+        verify(mongoRepository, never()).save(any());
+    }
+
+    private ArgumentCaptor<UpdateDefinition> stubFindAndModify() {
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        when(mongoTemplate.findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+                eq(Franchise.class), eq("franchises")))
+                .thenReturn(Mono.just(Franchise.builder().id(FRANCHISE_ID).name("Tech Store").build()));
+        return update;
+    }
+
+    private static void assertStoredIdFilters(UpdateDefinition update) {
+        List<Document> filters = update.getArrayFilters().stream()
+                .map(UpdateDefinition.ArrayFilter::asDocument)
+                .toList();
+        assertEquals(List.of(
+                new Document("b._id", new ObjectId(BRANCH_ID)),
+                new Document("p._id", new ObjectId(PRODUCT_ID))), filters);
+    }
+}
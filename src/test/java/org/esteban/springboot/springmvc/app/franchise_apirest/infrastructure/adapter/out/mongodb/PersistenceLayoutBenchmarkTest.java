@@ -0,0 +1,194 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.FranchiseEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.ProductRecordEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.mapper.FranchiseMapper;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.repository.FranchiseMongoRepository;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config.StreamingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Compares per-operation latency and wire bytes of the embedded and split layouts at several aggregate sizes. The
+ * embedded layout also reports the stock update done the old way, as a full load and save of the aggregate.
+ * Needs a disposable MongoDB: {@code mvn test -Dtest=PersistenceLayoutBenchmarkTest -Dbenchmark.mongodb.uri=...}
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark.mongodb.uri", matches = ".+")
+@DisplayName("Persistence Layout Benchmark")
+class PersistenceLayoutBenchmarkTest {
+
+    private static final int[][] SIZES = {{10, 10}, {50, 100}, {200, 250}};
+    private static final int ITERATIONS = 30;
+
+    private final ByteCounter bytes = new ByteCounter();
+    private MongoClient client;
+    private ReactiveMongoTemplate template;
+    private FranchiseRepositoryPort embedded;
+    private FranchiseRepositoryPort split;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionString uri = new ConnectionString(System.getProperty("benchmark.mongodb.uri"));
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(uri)
+                .addCommandListener(bytes)
+                .build());
+        String database = uri.getDatabase() != null ? uri.getDatabase() : "franchise_benchmark";
+        template = new ReactiveMongoTemplate(new SimpleReactiveMongoDatabaseFactory(client, database), converter());
+        FranchiseMongoRepository repository = new ReactiveMongoRepositoryFactory(template)
+                .getRepository(FranchiseMongoRepository.class);
+        FranchiseMapper mapper = new FranchiseMapper();
+        StreamingProperties streaming = new StreamingProperties();
+        embedded = new FranchiseRepositoryAdapter(repository, template, mapper, Optional.empty(), streaming);
+        split = new SplitFranchiseRepositoryAdapter(template, mapper, streaming);
+    }
+
+    // The same conversions the application registers, so the embedded adapter decodes straight into the domain
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(FranchiseDocumentConverters.all());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    @AfterEach
+    void tearDown() {
+        template.dropCollection(FranchiseEntity.class)
+                .then(template.dropCollection(ProductRecordEntity.class))
+                .block();
+        client.close();
+    }
+
+    @Test
+    @DisplayName("Report latency and bytes per operation for both layouts")
+    void compareLayouts() {
+        log.info(String.format("%-8s %-10s %-22s %10s %10s %12s %12s",
+                "layout", "size", "operation", "p50 us", "p99 us", "sent B/op", "recv B/op"));
+        for (int[] size : SIZES) {
+            run("embedded", embedded, size[0], size[1]);
+            run("split", split, size[0], size[1]);
+        }
+    }
+
+    private void run(String layout, FranchiseRepositoryPort port, int branches, int productsPerBranch) {
+        Franchise franchise = port.save(franchise(branches, productsPerBranch)).block();
+        String franchiseId = franchise.getId();
+        Branch branch = franchise.getBranches().get(branches / 2);
+        String productId = branch.getProducts().get(productsPerBranch / 2).getId();
+        String size = branches + "x" + productsPerBranch;
+
+        measure(layout, size, "findById", i -> port.findById(franchiseId));
+        measure(layout, size, "updateProductStock", i -> port.updateProductStock(franchiseId, branch.getId(), productId, i));
+        // The split layout never lets save overwrite a product, so only the embedded one can update stock this way
+        if (port == embedded) {
+            measure(layout, size, "findById+save(stock)", i -> port.findById(franchiseId).flatMap(loaded -> {
+                loaded.findBranchById(branch.getId())
+                        .flatMap(found -> found.findProductById(productId))
+                        .orElseThrow()
+                        .updateStock(Math.abs(i));
+                return port.save(loaded);
+            }));
+        }
+        measure(layout, size, "updateBranchName", i -> port.updateBranchName(franchiseId, branch.getId(), "Branch " + i));
+        measure(layout, size, "addProduct", i -> port.addProduct(franchiseId, branch.getId(), product(i)));
+        measure(layout, size, "findTopProducts(3)", i -> port.findTopProductsByBranch(franchiseId, 3).then());
+    }
+
+    private void measure(String layout, String size, String operation, Function<Integer, Mono<?>> call) {
+        long[] latencies = new long[ITERATIONS];
+        call.apply(-1).block();
+        bytes.reset();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            call.apply(i).block();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        log.info(String.format("%-8s %-10s %-22s %10d %10d %12d %12d",
+                layout, size, operation,
+                latencies[ITERATIONS / 2] / 1_000,
+                latencies[(int) Math.ceil(ITERATIONS * 0.99) - 1] / 1_000,
+                bytes.sent.get() / ITERATIONS,
+                bytes.received.get() / ITERATIONS));
+    }
+
+    private Franchise franchise(int branches, int productsPerBranch) {
+        List<Branch> branchList = new ArrayList<>();
+        for (int b = 0; b < branches; b++) {
+            Branch branch = Branch.builder().id(UUID.randomUUID().toString()).name("Branch " + b).build();
+            for (int p = 0; p < productsPerBranch; p++) {
+                branch.addProduct(product(p));
+            }
+            branchList.add(branch);
+        }
+        return Franchise.builder().name("Benchmark " + branches + "x" + productsPerBranch).branches(branchList).build();
+    }
+
+    private Product product(int i) {
+        return Product.builder().id(UUID.randomUUID().toString()).name("Product " + i).stock(Math.abs(i) % 500).build();
+    }
+
+    private static final class ByteCounter implements CommandListener {
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong received = new AtomicLong();
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            sent.addAndGet(sizeOf(event.getCommand()));
+        }
+
+        @Override
+        public void commandSucceeded(CommandSucceededEvent event) {
+            received.addAndGet(sizeOf(event.getResponse()));
+        }
+
+        void reset() {
+            sent.set(0);
+            received.set(0);
+        }
+
+        private static int sizeOf(BsonDocument document) {
+            return new RawBsonDocument(document, new BsonDocumentCodec()).getByteBuffer().remaining();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.BranchEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.FranchiseEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.ProductRecordEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.mapper.FranchiseMapper;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config.StreamingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Split Franchise Repository Adapter Tests")
+class SplitFranchiseRepositoryAdapterTest {
+
+    private static final String FRANCHISE_ID = new ObjectId().toHexString();
+    private static final String BRANCH_ID = new ObjectId().toHexString();
+    private static final String PRODUCT_ID = new ObjectId().toHexString();
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private SplitFranchiseRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new SplitFranchiseRepositoryAdapter(mongoTemplate, new FranchiseMapper(), new StreamingProperties());
+    }
+
+    @Test
+    @DisplayName("Should read ObjectId branch and product ids of top products as hex strings")
+    void shouldReadObjectIdsOfTopProducts() {
+        // Given
+        FranchiseEntity franchise = FranchiseEntity.builder()
+                .id(FRANCHISE_ID)
+                .name("Tech Store")
+                .branches(List.of(BranchEntity.builder().id(BRANCH_ID).name("Downtown").build()))
+                .build();
+        Document row = new Document("_id", new ObjectId(BRANCH_ID))
+                .append("top", List.of(new Document("_id", new ObjectId(PRODUCT_ID)).append("name", "Laptop").append("stock", 7)));
+        when(mongoTemplate.findOne(any(Query.class), eq(FranchiseEntity.class))).thenReturn(Mono.just(franchise));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(ProductRecordEntity.class), eq(Document.class)))
+                .thenReturn(Flux.just(row));
+
+        // When & Then
+        StepVerifier.create(adapter.findTopProductsByBranch(FRANCHISE_ID, 1))
+                .assertNext(top -> {
+                    assertEquals(BRANCH_ID, top.getBranchId());
+                    assertEquals("Downtown", top.getBranchName());
+                    assertEquals(PRODUCT_ID, top.getProductId());
+                    assertEquals(7, top.getStock());
+                })
+                .verifyComplete();
+    }
+}
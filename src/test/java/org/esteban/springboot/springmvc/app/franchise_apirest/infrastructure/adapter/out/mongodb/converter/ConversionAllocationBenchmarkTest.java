@@ -0,0 +1,106 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters.FranchiseWriter;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.FranchiseEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.mapper.FranchiseMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares bytes allocated per read and per write of the entity + mapper path and the domain converters.
+ * Runs in-process, no database needed: {@code mvn test -Dtest=ConversionAllocationBenchmarkTest -Dbenchmark.allocation=true}
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark.allocation", matches = "true")
+@DisplayName("Conversion Allocation Benchmark")
+class ConversionAllocationBenchmarkTest {
+
+    private static final int[][] SIZES = {{10, 10}, {50, 100}, {200, 100}};
+    private static final int PRODUCTS_PER_RUN = 200_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final FranchiseMapper mapper = new FranchiseMapper();
+    private final MappingMongoConverter converter = converter();
+
+    @Test
+    @DisplayName("Report bytes allocated per conversion for both paths")
+    void compareAllocation() {
+        log.info(String.format("%-10s %-6s %16s %16s %8s", "size", "op", "entity B/op", "converter B/op", "ratio"));
+        for (int[] size : SIZES) {
+            Franchise franchise = franchise(size[0], size[1]);
+            Document stored = FranchiseWriter.INSTANCE.convert(franchise);
+
+            report(size, "read",
+                    () -> mapper.toDomain(converter.read(FranchiseEntity.class, stored)),
+                    () -> converter.read(Franchise.class, stored));
+            report(size, "write",
+                    () -> {
+                        Document document = new Document();
+                        converter.write(mapper.toEntity(franchise), document);
+                        return document;
+                    },
+                    () -> converter.convertToMongoType(franchise));
+        }
+    }
+
+    private void report(int[] size, String operation, Supplier<?> entityPath, Supplier<?> converterPath) {
+        long entity = allocatedPerCall(size, entityPath);
+        long direct = allocatedPerCall(size, converterPath);
+        log.info(String.format("%-10s %-6s %16d %16d %8.2f",
+                size[0] + "x" + size[1], operation, entity, direct, (double) direct / entity));
+    }
+
+    // Each run converts about the same number of products, so large aggregates do not dominate the wall time
+    private long allocatedPerCall(int[] size, Supplier<?> call) {
+        int iterations = Math.max(20, PRODUCTS_PER_RUN / (size[0] * size[1]));
+        long threadId = Thread.currentThread().getId();
+        Object sink = null;
+        for (int i = 0; i < iterations; i++) {
+            sink = call.get();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            sink = call.get();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        return sink == null ? -1 : allocated / iterations;
+    }
+
+    private Franchise franchise(int branches, int productsPerBranch) {
+        Franchise franchise = Franchise.builder().id(UUID.randomUUID().toString()).name("Benchmark").version(1L).build();
+        for (int b = 0; b < branches; b++) {
+            Branch branch = Branch.builder().id(UUID.randomUUID().toString()).name("Branch " + b).build();
+            for (int p = 0; p < productsPerBranch; p++) {
+                branch.addProduct(Product.builder().id(UUID.randomUUID().toString()).name("Product " + p).stock(p).build());
+            }
+            franchise.addBranch(branch);
+        }
+        return franchise;
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(FranchiseDocumentConverters.all());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
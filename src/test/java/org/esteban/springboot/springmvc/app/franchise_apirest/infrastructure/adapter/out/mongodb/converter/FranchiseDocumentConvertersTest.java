@@ -0,0 +1,141 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters.BranchReader;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters.FranchiseReader;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters.FranchiseWriter;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.BranchEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.FranchiseEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.ProductEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Franchise Document Converters Tests")
+class FranchiseDocumentConvertersTest {
+
+    private static final String OBJECT_ID = "650000000000000000000001";
+
+    @Test
+    @DisplayName("Should read a stored franchise document into the domain model")
+    void shouldReadStoredDocument() {
+        // Given
+        Document document = Document.parse("""
+                {_id: {$oid: '650000000000000000000001'}, name: 'Tech Store', version: 3, _class: 'ignored',
+                 branches: [{_id: 'branch-1', name: 'Main', products: [
+                     {_id: 'prod-1', name: 'Laptop', stock: 50},
+                     {_id: 'prod-2', name: 'Mouse', stock: 5}]}]}
+                """);
+
+        // When
+        Franchise franchise = FranchiseReader.INSTANCE.convert(document);
+
+        // Then
+        assertEquals(OBJECT_ID, franchise.getId());
+        assertEquals("Tech Store", franchise.getName());
+        assertEquals(3L, franchise.getVersion());
+        Branch branch = franchise.getBranches().get(0);
+        assertEquals("branch-1", branch.getId());
+        assertEquals("Main", branch.getName());
+        assertEquals(List.of("prod-1", "prod-2"), branch.getProducts().stream().map(Product::getId).toList());
+        assertEquals(50, branch.getProducts().get(0).getStock());
+    }
+
+    @Test
+    @DisplayName("Should read missing arrays and version as empty and null")
+    void shouldReadMissingFields() {
+        // Given
+        Document document = new Document("_id", "legacy").append("name", "Old");
+
+        // When
+        Franchise franchise = FranchiseReader.INSTANCE.convert(document);
+
+        // Then
+        assertNull(franchise.getVersion());
+        assertTrue(franchise.getBranches().isEmpty());
+        assertTrue(BranchReader.INSTANCE.convert(new Document("_id", "b")).getProducts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should write the same document Spring Data writes for the entity")
+    void shouldWriteEntityCompatibleDocument() {
+        // Given
+        Franchise franchise = Franchise.builder().id(OBJECT_ID).name("Tech Store").version(2L).build();
+        Branch branch = Branch.builder().id("branch-1").name("Main").build();
+        branch.addProduct(Product.builder().id("prod-1").name("Laptop").stock(50).build());
+        franchise.addBranch(branch);
+
+        FranchiseEntity entity = FranchiseEntity.builder()
+                .id(OBJECT_ID)
+                .name("Tech Store")
+                .version(2L)
+                .branches(new ArrayList<>(List.of(BranchEntity.builder()
+                        .id("branch-1")
+                        .name("Main")
+                        .products(new ArrayList<>(List.of(new ProductEntity("prod-1", "Laptop", 50))))
+                        .build())))
+                .build();
+        Document expected = new Document();
+        converter().write(entity, expected);
+        expected.remove("_class");
+
+        // When
+        Document written = FranchiseWriter.INSTANCE.convert(franchise);
+
+        // Then
+        assertEquals(expected, written);
+        assertInstanceOf(ObjectId.class, written.get("_id"));
+    }
+
+    @Test
+    @DisplayName("Should leave the id out of a franchise that has none yet")
+    void shouldOmitMissingId() {
+        // Given
+        Franchise franchise = Franchise.builder().name("New").build();
+
+        // When
+        Document written = FranchiseWriter.INSTANCE.convert(franchise);
+
+        // Then
+        assertFalse(written.containsKey("_id"));
+    }
+
+    @Test
+    @DisplayName("Should be used by the mapping converter for domain reads and writes")
+    void shouldBeRegisteredWithMappingConverter() {
+        // Given
+        MappingMongoConverter converter = converter();
+        Franchise franchise = Franchise.builder().id(OBJECT_ID).name("Tech Store").version(0L).build();
+        franchise.addBranch(Branch.builder().id("branch-1").name("Main").build());
+
+        // When
+        Object written = converter.convertToMongoType(franchise);
+        Franchise read = converter.read(Franchise.class, (Document) written);
+
+        // Then
+        assertEquals(franchise, read);
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(FranchiseDocumentConverters.all());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,127 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters.FranchiseReader;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.converter.FranchiseDocumentConverters.FranchiseWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Franchise Flight Recorder Events Tests")
+class FranchiseFlightRecorderEventsTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should ship a settings profile that enables every franchise event with a threshold")
+    void shouldShipSettingsProfile() throws Exception {
+        // Given
+        Configuration configuration;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/jfr/franchise.jfc"), StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        }
+
+        // When
+        Map<String, String> settings = configuration.getSettings();
+
+        // Then
+        for (String event : List.of("franchise.UseCase", "franchise.MongoOperation", "franchise.Conversion")) {
+            assertEquals("true", settings.get(event + "#enabled"), event);
+            assertNotNull(settings.get(event + "#threshold"), event);
+        }
+    }
+
+    @Test
+    @DisplayName("Should record converter reads and writes with the franchise shape")
+    void shouldRecordConversions() throws Exception {
+        // Given
+        Franchise franchise = franchise();
+
+        // When
+        List<RecordedEvent> events = record("franchise.Conversion",
+                () -> FranchiseReader.INSTANCE.convert(FranchiseWriter.INSTANCE.convert(franchise)));
+
+        // Then
+        assertEquals(List.of("write", "read"), events.stream().map(event -> event.getString("direction")).toList());
+        for (RecordedEvent event : events) {
+            assertEquals("converter", event.getString("converter"));
+            assertEquals("650000000000000000000001", event.getString("franchiseId"));
+            assertEquals(2, event.getInt("branches"));
+            assertEquals(3, event.getInt("products"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should record a storage call with documents and outcome")
+    void shouldRecordMongoOperation() throws Exception {
+        // When
+        List<RecordedEvent> events = record("franchise.MongoOperation", () -> {
+            StepVerifier.create(MongoOperationEvent.recorded("findAll", null, Flux.just(franchise(), franchise())))
+                    .expectNextCount(2)
+                    .verifyComplete();
+            StepVerifier.create(MongoOperationEvent.recorded("findById", "missing",
+                            Mono.error(new IllegalStateException("down"))))
+                    .verifyError(IllegalStateException.class);
+        });
+
+        // Then
+        assertEquals(2, events.size());
+        RecordedEvent findAll = events.get(0);
+        assertEquals("findAll", findAll.getString("operation"));
+        assertEquals("success", findAll.getString("outcome"));
+        assertEquals(2, findAll.getInt("documents"));
+        assertEquals(6, findAll.getInt("products"));
+        RecordedEvent findById = events.get(1);
+        assertEquals("missing", findById.getString("franchiseId"));
+        assertEquals("error", findById.getString("outcome"));
+        assertEquals(0, findById.getInt("documents"));
+    }
+
+    private List<RecordedEvent> record(String eventName, Runnable action) throws Exception {
+        Path file = directory.resolve(eventName + ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .toList();
+    }
+
+    private static Franchise franchise() {
+        Franchise franchise = Franchise.builder().id("650000000000000000000001").name("Tech Store").version(1L).build();
+        Branch main = Branch.builder().id("branch-1").name("Main").build();
+        main.addProduct(Product.builder().id("prod-1").name("Laptop").stock(5).build());
+        main.addProduct(Product.builder().id("prod-2").name("Mouse").stock(3).build());
+        Branch outlet = Branch.builder().id("branch-2").name("Outlet").build();
+        outlet.addProduct(Product.builder().id("prod-3").name("Monitor").stock(1).build());
+        franchise.addBranch(main);
+        franchise.addBranch(outlet);
+        return franchise;
+    }
+}
@@ -2,14 +2,18 @@ package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.ad
 
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.FranchiseSummary;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
 import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.BranchEntity;
 import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.FranchiseEntity;
 import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.ProductEntity;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.entity.ProductRecordEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Franchise Mapper Tests")
@@ -173,4 +177,61 @@ class FranchiseMapperTest {
         assertEquals(1, entity.getBranches().get(0).getProducts().size());
         assertEquals(1, entity.getBranches().get(1).getProducts().size());
     }
+
+    @Test
+    @DisplayName("Should carry the document version in both directions")
+    void shouldCarryDocumentVersionInBothDirections() {
+        // Given
+        FranchiseEntity entity = FranchiseEntity.builder()
+                .id("franchise-1")
+                .name("Versioned Store")
+                .version(7L)
+                .build();
+
+        // When
+        Franchise franchise = franchiseMapper.toDomain(entity);
+        FranchiseEntity roundTrip = franchiseMapper.toEntity(franchise);
+
+        // Then
+        assertEquals(7L, franchise.getVersion());
+        assertEquals(7L, roundTrip.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should map a projected entity to a summary with branch names only when requested")
+    void shouldMapProjectedEntityToSummary() {
+        // Given
+        FranchiseEntity entity = FranchiseEntity.builder()
+                .id("franchise-1")
+                .name("Tech Store")
+                .branches(List.of(BranchEntity.builder().id("branch-1").name("Downtown").build()))
+                .build();
+
+        // When
+        FranchiseSummary summary = franchiseMapper.toSummary(entity, false);
+        FranchiseSummary withBranches = franchiseMapper.toSummary(entity, true);
+
+        // Then
+        assertEquals("Tech Store", summary.getName());
+        assertNull(summary.getBranches());
+        assertEquals(1, withBranches.getBranches().size());
+        assertEquals("Downtown", withBranches.getBranches().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Should map a product to a split-layout record and back")
+    void shouldMapProductRecord() {
+        // Given
+        Product product = Product.builder().id("product-1").name("Laptop").stock(12).build();
+
+        // When
+        ProductRecordEntity record = franchiseMapper.toProductRecord("franchise-1", "branch-1", product, 42L);
+        Product roundTrip = franchiseMapper.toProductDomain(record);
+
+        // Then
+        assertEquals("franchise-1", record.getFranchiseId());
+        assertEquals("branch-1", record.getBranchId());
+        assertEquals(42L, record.getSeq());
+        assertEquals(product, roundTrip);
+    }
 }
@@ -0,0 +1,142 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.profiling;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Mongo Command Profiler Tests")
+class MongoCommandProfilerTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(150);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private SlowQueryBuffer buffer;
+    private MongoCommandProfiler profiler;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new SlowQueryBuffer(10);
+        profiler = new MongoCommandProfiler(Duration.ofMillis(100), buffer);
+    }
+
+    @Test
+    @DisplayName("Should record a slow find with its redacted filter, documents and reply size")
+    void shouldRecordSlowFind() {
+        // Given
+        BsonDocument command = BsonDocument.parse("""
+                {find: 'franchises', filter: {_id: {$in: ['a', 'b', 'c']}, name: 'Tech Store'}, limit: 5, $db: 'franchise_db'}
+                """);
+        BsonDocument reply = BsonDocument.parse("""
+                {cursor: {id: 0, ns: 'franchise_db.franchises', firstBatch: [{_id: 'a'}, {_id: 'b'}]}, ok: 1}
+                """);
+
+        // When
+        profiler.commandStarted(started(1, "find", command));
+        profiler.commandSucceeded(succeeded(1, "find", reply, SLOW));
+
+        // Then
+        List<SlowQuery> slow = buffer.slowest();
+        assertEquals(1, slow.size());
+        SlowQuery query = slow.get(0);
+        assertEquals("find", query.command());
+        assertEquals("franchises", query.collection());
+        assertEquals("franchise_db", query.database());
+        assertEquals(BsonDocument.parse("{filter: {_id: {$in: ['?']}, name: '?'}}"), BsonDocument.parse(query.shape()));
+        assertFalse(query.shape().contains("Tech Store"));
+        assertEquals(150.0, query.durationMs());
+        assertEquals(2, query.documents());
+        assertTrue(query.replyBytes() > 0);
+        assertEquals("success", query.outcome());
+    }
+
+    @Test
+    @DisplayName("Should skip commands under the threshold")
+    void shouldSkipFastCommands() {
+        // When
+        profiler.commandStarted(started(2, "find", BsonDocument.parse("{find: 'franchises', filter: {}}")));
+        profiler.commandSucceeded(succeeded(2, "find", BsonDocument.parse("{ok: 1}"), FAST));
+
+        // Then
+        assertTrue(buffer.slowest().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep aggregation stages and field paths but redact literals")
+    void shouldShapeAggregation() {
+        // Given
+        BsonDocument command = BsonDocument.parse("""
+                {aggregate: 'franchises', pipeline: [
+                    {$match: {_id: 'franchise-1'}},
+                    {$unwind: '$branches'},
+                    {$project: {top: {$slice: ['$branches.products', 3]}}}]}
+                """);
+
+        // When
+        profiler.commandStarted(started(3, "aggregate", command));
+        profiler.commandSucceeded(succeeded(3, "aggregate",
+                BsonDocument.parse("{cursor: {id: 0, firstBatch: []}, ok: 1}"), SLOW));
+
+        // Then
+        assertEquals(BsonDocument.parse("""
+                {pipeline: [{$match: {_id: '?'}}, {$unwind: '$branches'}, {$project: {top: {$slice: ['$branches.products']}}}]}
+                """), BsonDocument.parse(buffer.slowest().get(0).shape()));
+    }
+
+    @Test
+    @DisplayName("Should record a slow findAndModify with its update operators and the failure type")
+    void shouldRecordFailedFindAndModify() {
+        // Given
+        BsonDocument command = BsonDocument.parse("""
+                {findAndModify: 'franchises', query: {_id: 'f', 'branches._id': 'b'},
+                 update: {$set: {'branches.$.name': 'New name'}, $inc: {version: 1}}}
+                """);
+
+        // When
+        profiler.commandStarted(started(4, "findAndModify", command));
+        profiler.commandFailed(new CommandFailedEvent(null, 1L, 4, CONNECTION, "franchise_db", "findAndModify",
+                SLOW, new IllegalStateException("boom")));
+
+        // Then
+        SlowQuery query = buffer.slowest().get(0);
+        assertEquals(BsonDocument.parse("""
+                {query: {_id: '?', 'branches._id': '?'}, update: {$set: {'branches.$.name': '?'}, $inc: {version: '?'}}}
+                """), BsonDocument.parse(query.shape()));
+        assertEquals("IllegalStateException", query.outcome());
+        assertEquals(0, query.documents());
+    }
+
+    @Test
+    @DisplayName("Should ignore administrative commands")
+    void shouldIgnoreAdministrativeCommands() {
+        // When
+        profiler.commandStarted(started(5, "hello", BsonDocument.parse("{hello: 1}")));
+        profiler.commandSucceeded(succeeded(5, "hello", BsonDocument.parse("{ok: 1}"), SLOW));
+
+        // Then
+        assertTrue(buffer.slowest().isEmpty());
+    }
+
+    private static CommandStartedEvent started(int requestId, String commandName, BsonDocument command) {
+        return new CommandStartedEvent(null, 1L, requestId, CONNECTION, "franchise_db", commandName, command);
+    }
+
+    private static CommandSucceededEvent succeeded(int requestId, String commandName, BsonDocument reply, long nanos) {
+        return new CommandSucceededEvent(null, 1L, requestId, CONNECTION, "franchise_db", commandName, reply, nanos);
+    }
+}
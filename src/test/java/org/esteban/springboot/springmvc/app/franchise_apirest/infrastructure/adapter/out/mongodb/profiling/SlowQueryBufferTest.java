@@ -0,0 +1,53 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.profiling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Slow Query Buffer Tests")
+class SlowQueryBufferTest {
+
+    @Test
+    @DisplayName("Should keep only the most recent entries, slowest first")
+    void shouldKeepMostRecentSlowestFirst() {
+        // Given
+        SlowQueryBuffer buffer = new SlowQueryBuffer(3);
+
+        // When
+        for (double duration : new double[]{500, 120, 300, 150, 200}) {
+            buffer.add(query(duration));
+        }
+
+        // Then
+        List<Double> durations = buffer.slowest().stream().map(SlowQuery::durationMs).toList();
+        assertEquals(List.of(300.0, 200.0, 150.0), durations);
+    }
+
+    @Test
+    @DisplayName("Should be empty after clearing")
+    void shouldClear() {
+        // Given
+        SlowQueryBuffer buffer = new SlowQueryBuffer(3);
+        buffer.add(query(100));
+
+        // When
+        buffer.clear();
+
+        // Then
+        assertTrue(buffer.slowest().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a buffer without capacity")
+    void shouldRejectZeroCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SlowQueryBuffer(0));
+    }
+
+    private static SlowQuery query(double durationMs) {
+        return new SlowQuery(Instant.now(), "franchise_db", "franchises", "find", "{}", durationMs, 1, 100, "success");
+    }
+}
@@ -0,0 +1,61 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.memory.InMemoryFranchiseRepositoryAdapter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("inmemory")
+@DisplayName("In-Memory Profile Wiring Tests")
+class InMemoryProfileWiringTest {
+
+    @Autowired
+    @Qualifier("franchiseStorage")
+    private FranchiseRepositoryPort storage;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("Should back the repository port with the in-memory adapter and no MongoDB")
+    void shouldUseInMemoryAdapter() {
+        // Then
+        assertInstanceOf(InMemoryFranchiseRepositoryAdapter.class, storage);
+        assertTrue(context.getBeansOfType(ReactiveMongoTemplate.class).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should serve the API from memory")
+    void shouldServeFromMemory() {
+        // Given
+        String id = webTestClient.post().uri("/api/franchises")
+                .bodyValue(Map.of("name", "Edge Store"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Map.class)
+                .returnResult().getResponseBody().get("id").toString();
+
+        // When / Then
+        webTestClient.get().uri("/api/franchises/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.name").isEqualTo("Edge Store");
+    }
+}
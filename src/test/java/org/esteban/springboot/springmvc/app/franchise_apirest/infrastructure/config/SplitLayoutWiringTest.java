@@ -0,0 +1,33 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.config;
+
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.port.out.FranchiseRepositoryPort;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.FranchiseRepositoryAdapter;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.mongodb.SplitFranchiseRepositoryAdapter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "franchise.persistence.layout=split")
+@DisplayName("Split Layout Wiring Tests")
+class SplitLayoutWiringTest {
+
+    @Autowired
+    @Qualifier("franchiseStorage")
+    private FranchiseRepositoryPort storage;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    @DisplayName("Should back the repository port with the split adapter only")
+    void shouldUseSplitAdapter() {
+        // Then
+        assertInstanceOf(SplitFranchiseRepositoryAdapter.class, storage);
+        assertTrue(context.getBeansOfType(FranchiseRepositoryAdapter.class).isEmpty());
+    }
+}
@@ -1,5 +1,7 @@
 package org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.exception;
 
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ConcurrentUpdateException;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.InsufficientStockException;
 import org.esteban.springboot.springmvc.app.franchise_apirest.domain.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -45,6 +47,44 @@ class GlobalExceptionHandlerTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Should handle InsufficientStockException")
+    void shouldHandleInsufficientStockException() {
+        // Given
+        InsufficientStockException exception = new InsufficientStockException("Insufficient stock for product p-1");
+
+        // When
+        Mono<ResponseEntity<ErrorResponse>> result = exceptionHandler.handleInsufficientStockException(exception);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+                    assertEquals("Insufficient stock for product p-1", response.getBody().getMessage());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should handle ConcurrentUpdateException")
+    void shouldHandleConcurrentUpdateException() {
+        // Given
+        ConcurrentUpdateException exception = new ConcurrentUpdateException("Franchise was modified concurrently: f-1", null);
+
+        // When
+        Mono<ResponseEntity<ErrorResponse>> result = exceptionHandler.handleConcurrentUpdateException(exception);
+
+        // Then
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+                    assertNotNull(response.getBody());
+                    assertEquals(409, response.getBody().getStatus());
+                    assertEquals("Conflict", response.getBody().getError());
+                })
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("Should handle IllegalArgumentException")
     void shouldHandleIllegalArgumentException() {
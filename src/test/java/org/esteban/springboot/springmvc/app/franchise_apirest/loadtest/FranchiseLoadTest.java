@@ -0,0 +1,223 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Branch;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Franchise;
+import org.esteban.springboot.springmvc.app.franchise_apirest.domain.model.Product;
+import org.esteban.springboot.springmvc.app.franchise_apirest.infrastructure.adapter.out.memory.InMemoryFranchiseRepositoryAdapter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Closed-loop load against the real Netty server: {@code concurrency} virtual users each send one request, wait for
+ * the full response and send the next, for {@code duration} after a {@code warmup} whose samples are discarded.
+ * Storage is the {@code inmemory} profile's {@link InMemoryFranchiseRepositoryAdapter} behind the usual cache and coalescing decorators, so the figures
+ * cover HTTP, codecs and the reactive pipelines, not MongoDB.
+ * <p>
+ * {@code mvn test -Dtest=FranchiseLoadTest -Dloadtest=true [-Dloadtest.concurrency=64 -Dloadtest.duration=30s
+ * -Dloadtest.warmup=10s -Dloadtest.franchises=100 -Dloadtest.branches=20 -Dloadtest.products=50
+ * -Dloadtest.mix=getFranchise=60,topProducts=20,overallTopProducts=10,updateStock=10
+ * -Dloadtest.report-dir=target/loadtest]}
+ * <p>
+ * Being closed-loop, a slow response also delays the requests behind it, so the percentiles understate what an
+ * open arrival rate would see once the server saturates.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@ActiveProfiles("inmemory")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "franchise.cache.enabled=true",
+        "logging.level.org.springframework.data.mongodb=WARN",
+        "logging.level.org.esteban.springboot.springmvc.app.franchise_apirest=WARN",
+        "logging.level.org.esteban.springboot.springmvc.app.franchise_apirest.loadtest=INFO"
+})
+@DisplayName("Franchise Load Test")
+class FranchiseLoadTest {
+
+    private static final String DEFAULT_MIX = "getFranchise=60,topProducts=20,overallTopProducts=10,updateStock=10";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InMemoryFranchiseRepositoryAdapter repository;
+
+    @Test
+    @DisplayName("Report throughput and latency percentiles per route")
+    void runLoad() throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        Duration duration = duration("loadtest.duration", "30s");
+        Duration warmup = duration("loadtest.warmup", "10s");
+        Dataset dataset = seed(
+                Integer.getInteger("loadtest.franchises", 100),
+                Integer.getInteger("loadtest.branches", 20),
+                Integer.getInteger("loadtest.products", 50));
+
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port + "/api/franchises")
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(-1))
+                .build();
+        Map<String, Function<Target, Mono<?>>> routes = routes(client);
+        Mix mix = Mix.parse(System.getProperty("loadtest.mix", DEFAULT_MIX), routes.keySet());
+        LatencyReport report = new LatencyReport(mix.routes());
+
+        run(concurrency, warmup, dataset, routes, mix, report);
+        report.reset();
+        long start = System.nanoTime();
+        run(concurrency, duration, dataset, routes, mix, report);
+        long elapsed = System.nanoTime() - start;
+
+        log.info("concurrency={} duration={} dataset={} mix={}\n{}",
+                concurrency, duration, dataset, mix, report.table(elapsed));
+        Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "target/loadtest"));
+        report.write(reportDir, elapsed);
+        log.info("HDR histograms written to {}", reportDir.toAbsolutePath());
+    }
+
+    private void run(int concurrency, Duration duration, Dataset dataset, Map<String, Function<Target, Mono<?>>> routes,
+                     Mix mix, LatencyReport report) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Flux.range(0, concurrency)
+                .flatMap(user -> Mono.defer(() -> {
+                            String route = mix.next();
+                            long start = System.nanoTime();
+                            return routes.get(route).apply(dataset.pick())
+                                    .then(Mono.fromRunnable(() -> report.record(route, System.nanoTime() - start, false)))
+                                    .onErrorResume(error -> Mono.fromRunnable(
+                                            () -> report.record(route, System.nanoTime() - start, true)));
+                        })
+                        .repeat(() -> System.nanoTime() < deadline), concurrency)
+                .blockLast();
+    }
+
+    private Map<String, Function<Target, Mono<?>>> routes(WebClient client) {
+        Map<String, Function<Target, Mono<?>>> routes = new LinkedHashMap<>();
+        routes.put("getFranchise", target -> client.get()
+                .uri("/{id}", target.franchiseId())
+                .retrieve().toBodilessEntity());
+        routes.put("getSummary", target -> client.get()
+                .uri("/{id}?view=summary", target.franchiseId())
+                .retrieve().toBodilessEntity());
+        routes.put("topProducts", target -> client.get()
+                .uri("/{id}/top-products?limit=3", target.franchiseId())
+                .retrieve().toBodilessEntity());
+        routes.put("overallTopProducts", target -> client.get()
+                .uri("/{id}/top-products/overall?limit=10", target.franchiseId())
+                .retrieve().toBodilessEntity());
+        routes.put("updateStock", target -> client.put()
+                .uri("/{id}/branches/{branchId}/products/{productId}/stock",
+                        target.franchiseId(), target.branchId(), target.productId())
+                .bodyValue(Map.of("stock", ThreadLocalRandom.current().nextInt(1_000)))
+                .retrieve().toBodilessEntity());
+        routes.put("updateBranchName", target -> client.patch()
+                .uri("/{id}/branches/{branchId}/name", target.franchiseId(), target.branchId())
+                .bodyValue(Map.of("name", "Branch " + ThreadLocalRandom.current().nextInt(1_000)))
+                .retrieve().toBodilessEntity());
+        return routes;
+    }
+
+    private Dataset seed(int franchises, int branches, int products) {
+        List<Target[]> targets = new ArrayList<>(franchises);
+        for (int f = 0; f < franchises; f++) {
+            List<Branch> branchList = new ArrayList<>(branches);
+            Target[] franchiseTargets = new Target[branches * products];
+            for (int b = 0; b < branches; b++) {
+                List<Product> productList = new ArrayList<>(products);
+                for (int p = 0; p < products; p++) {
+                    productList.add(new Product(UUID.randomUUID().toString(), "Product " + p,
+                            ThreadLocalRandom.current().nextInt(1_000)));
+                }
+                branchList.add(new Branch(UUID.randomUUID().toString(), "Branch " + b, productList));
+            }
+            Franchise saved = repository.save(new Franchise(null, "Franchise " + f, null, branchList)).block();
+            int i = 0;
+            for (Branch branch : saved.getBranches()) {
+                for (Product product : branch.getProducts()) {
+                    franchiseTargets[i++] = new Target(saved.getId(), branch.getId(), product.getId());
+                }
+            }
+            targets.add(franchiseTargets);
+        }
+        return new Dataset(targets, franchises + "x" + branches + "x" + products);
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return Duration.parse("PT" + System.getProperty(property, defaultValue).toUpperCase());
+    }
+
+    private record Target(String franchiseId, String branchId, String productId) {
+    }
+
+    private record Dataset(List<Target[]> targets, String shape) {
+
+        Target pick() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Target[] franchise = targets.get(random.nextInt(targets.size()));
+            return franchise[random.nextInt(franchise.length)];
+        }
+
+        @Override
+        public String toString() {
+            return shape;
+        }
+    }
+
+    private record Mix(String[] names, int[] cumulativeWeights, String spec) {
+
+        static Mix parse(String spec, Iterable<String> known) {
+            List<String> knownRoutes = new ArrayList<>();
+            known.forEach(knownRoutes::add);
+            String[] entries = spec.split(",");
+            String[] names = new String[entries.length];
+            int[] cumulative = new int[entries.length];
+            int total = 0;
+            for (int i = 0; i < entries.length; i++) {
+                String[] entry = entries[i].trim().split("=");
+                if (entry.length != 2 || !knownRoutes.contains(entry[0])) {
+                    throw new IllegalArgumentException("Invalid mix entry '" + entries[i] + "', routes: " + knownRoutes);
+                }
+                names[i] = entry[0];
+                total += Integer.parseInt(entry[1]);
+                cumulative[i] = total;
+            }
+            return new Mix(names, cumulative, spec);
+        }
+
+        String next() {
+            int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (roll < cumulativeWeights[i]) {
+                    return names[i];
+                }
+            }
+            return names[names.length - 1];
+        }
+
+        List<String> routes() {
+            return List.of(names);
+        }
+
+        @Override
+        public String toString() {
+            return spec;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.esteban.springboot.springmvc.app.franchise_apirest.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms per route, recorded in microseconds, plus an aggregate over all routes.
+ */
+class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1_000.0;
+    private static final String ALL_ROUTES = "all";
+
+    private final Map<String, RouteStats> routes = new LinkedHashMap<>();
+
+    LatencyReport(Iterable<String> routeNames) {
+        for (String route : routeNames) {
+            routes.put(route, new RouteStats());
+        }
+        routes.put(ALL_ROUTES, new RouteStats());
+    }
+
+    void record(String route, long elapsedNanos, boolean failed) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS);
+        routes.get(route).record(micros, failed);
+        routes.get(ALL_ROUTES).record(micros, failed);
+    }
+
+    void reset() {
+        routes.values().forEach(RouteStats::reset);
+    }
+
+    String table(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        StringWriter table = new StringWriter();
+        PrintWriter out = new PrintWriter(table);
+        out.printf("%-20s %10s %10s %10s %10s %10s %10s %8s%n",
+                "route", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        routes.forEach((route, stats) -> {
+            Histogram histogram = stats.histogram;
+            out.printf("%-20s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                    route,
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds,
+                    histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    histogram.getMaxValue() / MICROS_PER_MILLI,
+                    stats.errors.sum());
+        });
+        out.flush();
+        return table.toString();
+    }
+
+    // One .hgrm file per route, in the text format HdrHistogram's plotter reads; values are in milliseconds
+    void write(Path directory, long elapsedNanos) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, RouteStats> route : routes.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(route.getKey() + ".hgrm")))) {
+                route.getValue().histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        Files.writeString(directory.resolve("summary.txt"), table(elapsedNanos));
+    }
+
+    private static final class RouteStats {
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long micros, boolean failed) {
+            histogram.recordValue(micros);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            histogram.reset();
+            errors.reset();
+        }
+    }
+}